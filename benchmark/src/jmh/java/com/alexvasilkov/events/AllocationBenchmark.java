@@ -0,0 +1,80 @@
+package com.alexvasilkov.events;
+
+import com.alexvasilkov.events.Events.Result;
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.loop.JvmLoop;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Garbage produced by a single post, with and without tasks pooling. See 'gc.alloc.rate.norm'
+ * values reported by GC profiler for bytes allocated per post.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AllocationBenchmark {
+
+    private static final String KEY = "ALLOCATION_KEY";
+    private static final String RESULT_KEY = "ALLOCATION_RESULT_KEY";
+    private static final Object PARAM = new Object();
+
+    @Param({ "false", "true" })
+    public boolean pooling;
+
+    private final Target target = new Target();
+    private JvmLoop loop;
+
+    @Setup
+    public void setup() {
+        loop = BenchmarkUtils.setupLoop();
+        Events.setPoolingEnabled(pooling);
+        Events.register(target);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Events.unregister(target);
+        Events.setPoolingEnabled(false);
+    }
+
+    @Benchmark
+    public Event post() {
+        Event event = Events.create(KEY).param(PARAM, 1).post();
+        loop.runPending();
+        return event;
+    }
+
+    // Subscriber's result is delivered to result callback
+    @Benchmark
+    public Event postWithResult() {
+        Event event = Events.create(RESULT_KEY).param(PARAM, 1).post();
+        loop.runPending();
+        return event;
+    }
+
+
+    public static class Target {
+        @Subscribe(KEY)
+        void subscribe(Event event) {}
+
+        @Subscribe(RESULT_KEY)
+        Object subscribeWithResult(Object param, Integer value) {
+            return param;
+        }
+
+        @Result(RESULT_KEY)
+        void result(Object result) {}
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.alexvasilkov.events;
+
+import com.alexvasilkov.events.internal.EventsParams;
+import com.alexvasilkov.events.loop.JvmLoop;
+
+public class BenchmarkUtils {
+
+    private BenchmarkUtils() {
+        // No instances
+    }
+
+    /**
+     * Binds event bus to the current (benchmark's) thread, so that all events are dispatched
+     * synchronously. Should be called from benchmark's setup method.
+     */
+    public static JvmLoop setupLoop() {
+        JvmLoop loop = JvmLoop.forCurrentThread();
+        Events.setLoop(loop);
+        Events.setDebug(false);
+        // All tasks should be executed at once, without yielding
+        EventsParams.setMaxTimeInUiThread(Long.MAX_VALUE);
+        return loop;
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.alexvasilkov.events;
+
+import com.alexvasilkov.events.Events.Background;
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.executor.PoolExecutor;
+import com.alexvasilkov.events.executor.VirtualThreadExecutor;
+import com.alexvasilkov.events.loop.JvmLoop;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to run 10k concurrent background subscribers, each blocked for 10 ms (i.e. by network),
+ * using default fixed size pool or virtual threads. Virtual threads require JVM 21+, the
+ * benchmark is skipped otherwise.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class BlockingBenchmark {
+
+    private static final String KEY = "BLOCKING_KEY";
+    private static final String POOL = "benchmark";
+    private static final int TASKS = 10000;
+    private static final long BLOCKING_TIME = 10L;
+
+    private static volatile CountDownLatch latch;
+
+    @Param({ "pool", "virtual" })
+    public String executor;
+
+    private JvmLoop loop;
+    private Executor backgroundExecutor;
+
+    @Setup
+    public void setup() {
+        if ("virtual".equals(executor)) {
+            if (!VirtualThreadExecutor.isSupported()) {
+                throw new IllegalStateException("Virtual threads require JVM 21+");
+            }
+            backgroundExecutor = new VirtualThreadExecutor("Benchmark");
+        } else {
+            backgroundExecutor = PoolExecutor.create("Benchmark");
+        }
+
+        loop = BenchmarkUtils.setupLoop();
+        Events.setExecutor(POOL, backgroundExecutor);
+        Events.register(Target.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Events.unregister(Target.class);
+        if (backgroundExecutor instanceof PoolExecutor) {
+            ((PoolExecutor) backgroundExecutor).shutdown();
+        }
+    }
+
+    @Benchmark
+    public void postBlocking() throws InterruptedException {
+        latch = new CountDownLatch(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Events.post(KEY);
+        }
+        latch.await();
+        // Delivering finished statuses
+        loop.runPending();
+    }
+
+
+    public static class Target {
+        @Background(pool = POOL)
+        @Subscribe(KEY)
+        static void subscribe() throws InterruptedException {
+            Thread.sleep(BLOCKING_TIME);
+            latch.countDown();
+        }
+    }
+
+}
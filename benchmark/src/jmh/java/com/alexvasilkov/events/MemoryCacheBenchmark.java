@@ -0,0 +1,58 @@
+package com.alexvasilkov.events;
+
+import com.alexvasilkov.events.cache.MemoryCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and saving results with {@link MemoryCache}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MemoryCacheBenchmark {
+
+    private static final String KEY = "BENCHMARK_KEY";
+    private static final int EVENTS = 100;
+
+    private final Event[] events = new Event[EVENTS];
+    private final EventResult result = EventResult.create().result(new Object()).build();
+    private MemoryCache cache;
+    private int index;
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.setupLoop();
+
+        cache = new MemoryCache();
+        for (int i = 0; i < EVENTS; i++) {
+            // No subscribers, so events are only created
+            events[i] = Events.create(KEY).param("PARAM", i).post();
+            cache.saveToCache(events[i], result);
+        }
+    }
+
+    @Benchmark
+    public EventResult load() {
+        return cache.loadFromCache(nextEvent());
+    }
+
+    @Benchmark
+    public void save() {
+        cache.saveToCache(nextEvent(), result);
+    }
+
+    private Event nextEvent() {
+        index = (index + 1) % EVENTS;
+        return events[index];
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.alexvasilkov.events;
+
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.loop.JvmLoop;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posting string-keyed and class-keyed events on the loop's thread to 0, 1 or N main thread
+ * subscribers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostingBenchmark {
+
+    private static final String KEY = "BENCHMARK_KEY";
+    private static final Object PARAM = new Object();
+
+    @Param({ "0", "1", "10" })
+    public int subscribers;
+
+    private final List<Object> targets = new ArrayList<>();
+    private JvmLoop loop;
+
+    @Setup
+    public void setup() {
+        loop = BenchmarkUtils.setupLoop();
+
+        for (int i = 0; i < subscribers; i++) {
+            Target target = new Target();
+            Events.register(target);
+            targets.add(target);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Object target : targets) {
+            Events.unregister(target);
+        }
+        targets.clear();
+    }
+
+    @Benchmark
+    public Event postSimple() {
+        Event event = Events.post(KEY);
+        loop.runPending();
+        return event;
+    }
+
+    @Benchmark
+    public Event postWithParams() {
+        Event event = Events.create(KEY).param(PARAM, 1).post();
+        loop.runPending();
+        return event;
+    }
+
+
+    // Class-keyed event delivered to subscribers of its super class
+    @Benchmark
+    public Event postTyped() {
+        Event event = Events.post(new TypedEvent());
+        loop.runPending();
+        return event;
+    }
+
+
+    public static class Target {
+        @Subscribe(KEY)
+        void subscribe(Event event) {}
+
+        @Subscribe
+        void subscribeTyped(BaseEvent event) {}
+    }
+
+    public static class BaseEvent {}
+
+    public static class TypedEvent extends BaseEvent {}
+
+}
@@ -0,0 +1,113 @@
+package com.alexvasilkov.events.internal;
+
+import com.alexvasilkov.events.BenchmarkUtils;
+import com.alexvasilkov.events.Event;
+import com.alexvasilkov.events.EventFailure;
+import com.alexvasilkov.events.EventResult;
+import com.alexvasilkov.events.Events;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arguments binding using signatures resolved in advance compared to {@link LegacyArgs}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ArgsBenchmark {
+
+    private static final String KEY = "BENCHMARK_KEY";
+
+    private EventMethod subscribeMethod;
+    private EventMethod noArgsMethod;
+    private EventMethod resultMethod;
+    private EventMethod failureMethod;
+
+    private Event event;
+    private EventResult result;
+    private EventFailure failure;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        BenchmarkUtils.setupLoop();
+
+        subscribeMethod = new EventMethod(
+                Target.class.getDeclaredMethod("subscribe", Event.class, String.class, int.class),
+                EventMethod.Type.SUBSCRIBE, KEY, false);
+        noArgsMethod = new EventMethod(
+                Target.class.getDeclaredMethod("noArgs"),
+                EventMethod.Type.SUBSCRIBE, KEY, false);
+        resultMethod = new EventMethod(
+                Target.class.getDeclaredMethod("result", Event.class, String.class),
+                EventMethod.Type.RESULT, KEY, false);
+        failureMethod = new EventMethod(
+                Target.class.getDeclaredMethod("failure", Event.class, Throwable.class),
+                EventMethod.Type.FAILURE, KEY, false);
+
+        // No subscribers, so event is only created
+        event = Events.create(KEY).param("PARAM", 1).post();
+        result = EventResult.create().result("RESULT").build();
+        failure = EventFailure.create(new RuntimeException());
+    }
+
+    @Benchmark
+    public Object[] subscribeArgs() {
+        return subscribeMethod.args(event, null, null, null);
+    }
+
+    @Benchmark
+    public Object[] subscribeArgsLegacy() {
+        return LegacyArgs.args(subscribeMethod, event, null, null, null);
+    }
+
+    @Benchmark
+    public Object[] noArgs() {
+        return noArgsMethod.args(event, null, null, null);
+    }
+
+    @Benchmark
+    public Object[] noArgsLegacy() {
+        return LegacyArgs.args(noArgsMethod, event, null, null, null);
+    }
+
+    @Benchmark
+    public Object[] resultArgs() {
+        return resultMethod.args(event, null, result, null);
+    }
+
+    @Benchmark
+    public Object[] resultArgsLegacy() {
+        return LegacyArgs.args(resultMethod, event, null, result, null);
+    }
+
+    @Benchmark
+    public Object[] failureArgs() {
+        return failureMethod.args(event, null, null, failure);
+    }
+
+    @Benchmark
+    public Object[] failureArgsLegacy() {
+        return LegacyArgs.args(failureMethod, event, null, null, failure);
+    }
+
+
+    @SuppressWarnings("unused")
+    static class Target {
+        void subscribe(Event event, String param1, int param2) {}
+
+        void noArgs() {}
+
+        void result(Event event, String result) {}
+
+        void failure(Event event, Throwable error) {}
+    }
+
+}
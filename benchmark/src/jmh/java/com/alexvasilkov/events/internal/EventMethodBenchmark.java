@@ -0,0 +1,79 @@
+package com.alexvasilkov.events.internal;
+
+import com.alexvasilkov.events.BenchmarkUtils;
+import com.alexvasilkov.events.Event;
+import com.alexvasilkov.events.EventResult;
+import com.alexvasilkov.events.Events;
+import com.alexvasilkov.events.jvm.MethodHandleInvokerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full task execution with reflection or method handles based invocation, compared to direct
+ * call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventMethodBenchmark {
+
+    private static final String KEY = "BENCHMARK_KEY";
+
+    @Param({ "reflection", "handles" })
+    public String backend;
+
+    private final Target target = new Target();
+
+    private EventMethod resultMethod;
+    private Event event;
+    private EventResult result;
+    private Task task;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        BenchmarkUtils.setupLoop();
+        Events.setInvokerFactory(
+                "handles".equals(backend) ? new MethodHandleInvokerFactory() : null);
+
+        resultMethod = new EventMethod(
+                Target.class.getDeclaredMethod("result", String.class),
+                EventMethod.Type.RESULT, KEY, false);
+
+        // No subscribers, so event is only created
+        event = Events.create(KEY).param("PARAM", 1).post();
+        result = EventResult.create().result("RESULT").build();
+
+        // Result callback task does not affect dispatcher's state when finished
+        task = Task.create(new Dispatcher(), new EventTarget(target), resultMethod, event, result);
+    }
+
+    @Benchmark
+    public void taskRun() {
+        task.run();
+    }
+
+    @Benchmark
+    public Object directCall() {
+        return target.result(result.<String>getResult(0));
+    }
+
+
+    static class Target {
+        private Object lastValue;
+
+        Object result(String value) {
+            lastValue = value;
+            return lastValue;
+        }
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.alexvasilkov.events.internal;
+
+import com.alexvasilkov.events.BenchmarkUtils;
+import com.alexvasilkov.events.Event;
+import com.alexvasilkov.events.EventResult;
+import com.alexvasilkov.events.EventStatus;
+import com.alexvasilkov.events.Events.Background;
+import com.alexvasilkov.events.Events.Cache;
+import com.alexvasilkov.events.Events.Failure;
+import com.alexvasilkov.events.Events.Result;
+import com.alexvasilkov.events.Events.Status;
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.cache.MemoryCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collecting annotated methods of a class, with and without cache, and using stored snapshot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventMethodsHelperBenchmark {
+
+    @Setup
+    public void setup() {
+        BenchmarkUtils.setupLoop();
+    }
+
+    @Benchmark
+    public List<EventMethod> cold(ColdState state) {
+        return EventMethodsHelper.getMethodsForTarget(Target.class);
+    }
+
+    @Benchmark
+    public List<EventMethod> coldSnapshot(ColdState state, SnapshotState snapshot) {
+        return EventMethodsHelper.getMethodsForTarget(Target.class);
+    }
+
+    @Benchmark
+    public List<EventMethod> warm() {
+        return EventMethodsHelper.getMethodsForTarget(Target.class);
+    }
+
+
+    @State(Scope.Thread)
+    public static class ColdState {
+        // Class scanning takes much longer than a single invocation setup, so it's fine to
+        // use invocation level here
+        @Setup(Level.Invocation)
+        public void clearCache() {
+            EventMethodsHelper.clearCache();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class SnapshotState {
+        private File file;
+
+        // Storing methods snapshot once and loading it back, as it would be on next app launch
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            file = File.createTempFile("events-snapshot", "");
+            //noinspection ResultOfMethodCallIgnored
+            file.delete(); // Snapshot is expected to be missing on first launch
+
+            MethodsSnapshot snapshot = MethodsSnapshot.load(file, "1");
+            EventsParams.setSnapshot(snapshot);
+            EventMethodsHelper.clearCache();
+            EventMethodsHelper.getMethodsForTarget(Target.class);
+            snapshot.save();
+
+            EventsParams.setSnapshot(MethodsSnapshot.load(file, "1"));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            EventsParams.setSnapshot(null);
+            //noinspection ResultOfMethodCallIgnored
+            file.delete();
+        }
+    }
+
+    @SuppressWarnings("unused")
+    static class Target {
+        @Subscribe("0")
+        private static void subscribe0(Event event) {}
+
+        @Subscribe("1")
+        private static void subscribe1() {}
+
+        @Background
+        @Subscribe("2")
+        private static void subscribe2() {}
+
+        @Cache(MemoryCache.class)
+        @Background
+        @Subscribe("3")
+        private static void subscribe3() {}
+
+        @Status("4")
+        private static void status4(EventStatus status) {}
+
+        @Status("5")
+        private static void status5(Event event, EventStatus status) {}
+
+        @Result("6")
+        private static void result6(Event event) {}
+
+        @Result("7")
+        private static void result7(Event event, EventResult result) {}
+
+        @Failure("8")
+        private static void failure8(Event event) {}
+
+        @Failure
+        private static void failure9(Event event) {}
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.alexvasilkov.events.internal;
+
+import com.alexvasilkov.events.index.MethodInvoker;
+import com.alexvasilkov.events.jvm.MethodHandleInvokerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of available invocation backends: reflection, method handles and generated
+ * invoker, compared to direct call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InvokerBenchmark {
+
+    private final Target target = new Target();
+    private final Object[] args = new Object[] { "VALUE", 1 };
+
+    private Method method;
+    private MethodInvoker handleInvoker;
+    private MethodInvoker generatedInvoker;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        method = Target.class.getDeclaredMethod("call", String.class, int.class);
+        method.setAccessible(true);
+
+        handleInvoker = new MethodHandleInvokerFactory().create(method);
+
+        // Same code as generated by annotation processor
+        generatedInvoker = new MethodInvoker() {
+            @Override
+            public Object invoke(Object target, Object[] args) throws Throwable {
+                return ((Target) target).call((String) args[0], (Integer) args[1]);
+            }
+        };
+    }
+
+    @Benchmark
+    public Object reflection() throws Exception {
+        return method.invoke(target, args);
+    }
+
+    @Benchmark
+    public Object methodHandle() throws Throwable {
+        return handleInvoker.invoke(target, args);
+    }
+
+    @Benchmark
+    public Object generated() throws Throwable {
+        return generatedInvoker.invoke(target, args);
+    }
+
+    @Benchmark
+    public Object direct() {
+        return target.call((String) args[0], (Integer) args[1]);
+    }
+
+
+    static class Target {
+        private int counter;
+
+        Object call(String value, int increment) {
+            counter += increment;
+            return value;
+        }
+    }
+
+}
@@ -0,0 +1,243 @@
+package com.alexvasilkov.events.internal;
+
+import com.alexvasilkov.events.Event;
+import com.alexvasilkov.events.EventFailure;
+import com.alexvasilkov.events.EventResult;
+import com.alexvasilkov.events.EventStatus;
+
+/**
+ * Copy of arguments binding as it was before signatures were resolved once in
+ * {@link EventMethod}, kept for comparison in {@link ArgsBenchmark}.
+ */
+class LegacyArgs {
+
+    private LegacyArgs() {
+        // No instances
+    }
+
+    static Object[] args(EventMethod method, Event event, EventStatus status,
+            EventResult result, EventFailure failure) {
+
+        Object[] args = new Object[method.params.length];
+        fillAndCheckArgs(method, args, event, status, result, failure);
+        return args;
+    }
+
+    private static void fillAndCheckArgs(EventMethod method, Object[] args,
+            Event event, EventStatus status, EventResult result,
+            EventFailure failure) {
+        switch (method.type) {
+            case SUBSCRIBE:
+                subscribeArgs(method, args, event);
+                break;
+            case STATUS:
+                statusArgs(method, args, event, status);
+                break;
+            case RESULT:
+                resultArgs(method, args, event, result);
+                break;
+            case FAILURE:
+                failureArgs(method, args, event, failure);
+                break;
+            default:
+        }
+    }
+
+
+    private static void subscribeArgs(EventMethod method, Object[] args, Event event) {
+        // Allowed parameters: [], [Event], [Event, Params...], [Params...]
+
+        if (method.params.length > 0) {
+            if (method.params[0] == Event.class) {
+                // [Event, ...?]
+                if (args != null) {
+                    args[0] = event;
+                }
+
+                if (method.params.length > 1) {
+                    // Detected [Event, Params...]
+                    if (args != null && event != null) {
+                        for (int i = 1; i < method.params.length; i++) {
+                            args[i] = event.getParam(i - 1);
+                        }
+                    }
+                }
+                // Otherwise:
+                // Detected [Event]
+            } else {
+                // Detected [Params...]
+                if (args != null && event != null) {
+                    for (int i = 0; i < method.params.length; i++) {
+                        args[i] = event.getParam(i);
+                    }
+                }
+            }
+        }
+        // Otherwise:
+        // Detected []
+    }
+
+    private static void statusArgs(EventMethod method, Object[] args,
+            Event event, EventStatus status) {
+
+        final String msg = "Allowed parameters: [EventStatus] or [Event, EventStatus]";
+
+        if (method.params.length == 0) {
+            // Wrong []
+            throw Utils.toException(method.eventKey, method, msg);
+        } else if (method.params[0] == Event.class) {
+            // [Event, ...?]
+            if (args != null) {
+                args[0] = event;
+            }
+
+            if (method.params.length == 2 && method.params[1] == EventStatus.class) {
+                // Detected [Event, EventStatus]
+                if (args != null) {
+                    args[1] = status;
+                }
+            } else {
+                // Wrong [Event] or [Event, Unknown...]
+                throw Utils.toException(method.eventKey, method, msg);
+            }
+        } else if (method.params[0] == EventStatus.class) {
+            // [EventStatus, ...?]
+            if (args != null) {
+                args[0] = status;
+            }
+
+            if (method.params.length > 1) {
+                // Wrong [EventStatus, Unknown...]
+                throw Utils.toException(method.eventKey, method, msg);
+            }
+            // Otherwise:
+            // Detected [EventStatus]
+        } else {
+            // Wrong [Unknown...]
+            throw Utils.toException(method.eventKey, method, msg);
+        }
+    }
+
+    private static void resultArgs(EventMethod method, Object[] args,
+            Event event, EventResult result) {
+
+        final String msg = "Allowed parameters: [], [Event], [Event, Results...], "
+                + "[Event, EventResult], [Results...] or [EventResult]";
+
+        if (method.params.length > 0) {
+            if (method.params[0] == Event.class) {
+                // [Event, ...?]
+                if (args != null) {
+                    args[0] = event;
+                }
+
+                if (method.params.length > 1 && method.params[1] == EventResult.class) {
+                    // [Event, EventResult, ...?]
+                    if (args != null) {
+                        args[1] = result;
+                    }
+
+                    if (method.params.length > 2) {
+                        // Wrong [Event, EventResult, Results...]
+                        throw Utils.toException(method.eventKey, method, msg);
+                    }
+                    // Otherwise:
+                    // Detected [Event, EventResult]
+                } else if (method.params.length > 1) {
+                    // Detected [Event, Results...]
+                    if (args != null) {
+                        for (int i = 1; i < method.params.length; i++) {
+                            args[i] = result == null ? null : result.getResult(i - 1);
+                        }
+                    }
+                }
+                // Otherwise:
+                // Detected [Event]
+            } else if (method.params[0] == EventResult.class) {
+                // [EventResult, ...?]
+                if (args != null) {
+                    args[0] = result;
+                }
+
+                if (method.params.length > 1) {
+                    // Wrong [EventResult, Results...]
+                    throw Utils.toException(method.eventKey, method, msg);
+                }
+                // Otherwise:
+                // Detected [EventResult]
+            } else {
+                // Detected [Results...]
+                if (args != null) {
+                    for (int i = 0; i < method.params.length; i++) {
+                        args[i] = result == null ? null : result.getResult(i);
+                    }
+                }
+            }
+            // Otherwise:
+            // Detected []
+        }
+    }
+
+    private static void failureArgs(EventMethod method, Object[] args,
+            Event event, EventFailure failure) {
+
+        final String msg = "Allowed parameters: [], [Event], [Event, Throwable], "
+                + "[Event, EventFailure], [Throwable] or [EventFailure]";
+
+        if (method.params.length > 0) {
+            if (method.params[0] == Event.class) {
+                // [Event, ...?]
+                if (args != null) {
+                    args[0] = event;
+                }
+
+                if (method.params.length == 2 && method.params[1] == Throwable.class) {
+                    // Detected [Event, Throwable]
+                    if (args != null && failure != null) {
+                        args[1] = failure.getError();
+                    }
+                } else if (method.params.length == 2 && method.params[1] == EventFailure.class) {
+                    // Detected [Event, EventFailure]
+                    if (args != null) {
+                        args[1] = failure;
+                    }
+                } else if (method.params.length > 1) {
+                    // Wrong [Event, Unknown...]
+                    throw Utils.toException(method.eventKey, method, msg);
+                }
+                // Otherwise:
+                // Detected [Event]
+            } else if (method.params[0] == Throwable.class) {
+                // [Throwable, ...?]
+                if (args != null && failure != null) {
+                    args[0] = failure.getError();
+                }
+
+                if (method.params.length > 1) {
+                    // Wrong [Throwable, Unknown...]
+                    throw Utils.toException(method.eventKey, method, msg);
+                }
+                // Otherwise:
+                // Detected [Throwable]
+            } else if (method.params[0] == EventFailure.class) {
+                // [EventFailure, ...?]
+                if (args != null) {
+                    args[0] = failure;
+                }
+
+                if (method.params.length > 1) {
+                    // Wrong [EventFailure, Unknown...]
+                    throw Utils.toException(method.eventKey, method, msg);
+                }
+                // Otherwise:
+                // Detected [EventFailure]
+            } else {
+                // Wrong [Unknown...]
+                throw Utils.toException(method.eventKey, method, msg);
+            }
+        }
+        // Otherwise:
+        // Detected []
+    }
+
+}
@@ -0,0 +1,543 @@
+package com.alexvasilkov.events.compiler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Validates events annotations at compile time and generates index of annotated methods, see
+ * {@code com.alexvasilkov.events.index.EventsIndex}. Index also contains direct invokers for all
+ * methods accessible from the index package.
+ * <p/>
+ * Index is only generated if {@code eventsIndex} option is set to fully qualified name of the
+ * index class.
+ */
+@SupportedOptions(EventsProcessor.OPTION_INDEX)
+public class EventsProcessor extends AbstractProcessor {
+
+    static final String OPTION_INDEX = "eventsIndex";
+
+    private static final String EVENTS = "com.alexvasilkov.events.Events";
+    private static final String SUBSCRIBE = EVENTS + ".Subscribe";
+    private static final String STATUS = EVENTS + ".Status";
+    private static final String RESULT = EVENTS + ".Result";
+    private static final String FAILURE = EVENTS + ".Failure";
+    private static final String BACKGROUND = EVENTS + ".Background";
+    private static final String CACHE = EVENTS + ".Cache";
+
+    private static final String EVENT = "com.alexvasilkov.events.Event";
+    private static final String PRIORITY = "com.alexvasilkov.events.Priority";
+    // Same as in library's EventsParams, used as default key of class-keyed subscribers
+    private static final String EMPTY_KEY = "com.alexvasilkov.events.internal#EMPTY";
+    // Same as in library's EventTypes
+    private static final String TYPE_KEY_PREFIX = "com.alexvasilkov.events.internal#TYPE#";
+
+    private static final List<String> ANNOTATIONS =
+            Arrays.asList(SUBSCRIBE, STATUS, RESULT, FAILURE, BACKGROUND, CACHE);
+
+    // Annotated methods grouped by declaring class, in order of appearance
+    private final Map<TypeElement, Set<ExecutableElement>> methods = new LinkedHashMap<>();
+
+    private boolean hasErrors;
+    private boolean isIndexWritten;
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new LinkedHashSet<>(ANNOTATIONS);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        boolean hasNewMethods = false;
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.METHOD) {
+                    continue;
+                }
+
+                ExecutableElement method = (ExecutableElement) element;
+                TypeElement clazz = (TypeElement) method.getEnclosingElement();
+
+                Set<ExecutableElement> set = methods.get(clazz);
+                if (set == null) {
+                    set = new LinkedHashSet<>();
+                    methods.put(clazz, set);
+                }
+                if (set.add(method)) {
+                    hasNewMethods = true;
+                    hasErrors |= !validate(method);
+                }
+            }
+        }
+
+        String indexName = processingEnv.getOptions().get(OPTION_INDEX);
+
+        if (hasNewMethods && indexName != null && !hasErrors) {
+            if (isIndexWritten) {
+                // Classes generated by other processors cannot be added to already written index
+                note("Some annotated classes were generated after " + indexName
+                        + " was written, they will not be indexed");
+            } else {
+                writeIndex(indexName);
+                isIndexWritten = true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Performs same checks as done at runtime when annotated methods are collected with
+     * reflection.
+     */
+    private boolean validate(ExecutableElement method) {
+        boolean isValid = true;
+
+        if (has(method, SUBSCRIBE)) {
+            // No method's parameters check is required here since any combination is valid,
+            // unless it is a class-keyed event subscriber
+            isValid = checkNoAnnotations(method, SUBSCRIBE, STATUS, RESULT, FAILURE)
+                    && (!EMPTY_KEY.equals(getValue(getAnnotation(method, SUBSCRIBE), "value"))
+                    || getEventType(method) != null);
+        } else if (has(method, STATUS)) {
+            isValid = checkNoAnnotations(method, STATUS, SUBSCRIBE, BACKGROUND, CACHE,
+                    RESULT, FAILURE) && checkNoReturn(method, STATUS);
+        } else if (has(method, RESULT)) {
+            isValid = checkNoAnnotations(method, RESULT, SUBSCRIBE, BACKGROUND, CACHE,
+                    STATUS, FAILURE) && checkNoReturn(method, RESULT);
+        } else if (has(method, FAILURE)) {
+            isValid = checkNoAnnotations(method, FAILURE, SUBSCRIBE, BACKGROUND, CACHE,
+                    STATUS, RESULT) && checkNoReturn(method, FAILURE);
+        } else if (has(method, BACKGROUND) || has(method, CACHE)) {
+            isValid = error(method, "Method " + toString(method)
+                    + " should be marked with @" + simpleName(SUBSCRIBE));
+        }
+
+        // Only static methods can be executed in background, to not leak object references
+        if (isValid && has(method, BACKGROUND) && !isStatic(method)) {
+            isValid = error(method, "Method " + toString(method)
+                    + " marked with @" + simpleName(BACKGROUND) + " should be static."
+                    + " To subscribe static methods pass Class object to Events.register()");
+        }
+
+        return isValid;
+    }
+
+    // Checks that no given annotations are present on given method
+    private boolean checkNoAnnotations(ExecutableElement method, String foundAn,
+            String... disallowedAn) {
+        for (String an : disallowedAn) {
+            if (has(method, an)) {
+                return error(method, "Method " + toString(method)
+                        + " marked with @" + simpleName(foundAn)
+                        + " cannot be marked with @" + simpleName(an));
+            }
+        }
+        return true;
+    }
+
+    private boolean checkNoReturn(ExecutableElement method, String an) {
+        if (method.getReturnType().getKind() != TypeKind.VOID) {
+            return error(method, "Method " + toString(method)
+                    + " marked with @" + simpleName(an) + " can only have void return type.");
+        }
+        return true;
+    }
+
+
+    // Returns type of class-keyed event which is expected as method's last parameter
+    private DeclaredType getEventType(ExecutableElement method) {
+        List<? extends VariableElement> params = method.getParameters();
+        boolean hasEvent = !params.isEmpty() && isEvent(params.get(0).asType());
+        TypeMirror type = params.size() == (hasEvent ? 2 : 1)
+                ? processingEnv.getTypeUtils().erasure(params.get(params.size() - 1).asType())
+                : null;
+
+        if (type == null || type.getKind() != TypeKind.DECLARED || isEvent(type)) {
+            error(method, "Method " + toString(method) + " marked with @" + simpleName(SUBSCRIBE)
+                    + " without event key should have single parameter of event type,"
+                    + " optionally preceded by " + simpleName(EVENT));
+            return null;
+        }
+        return (DeclaredType) type;
+    }
+
+    private String getKey(ExecutableElement method, String type) {
+        String key = (String) getValue(getAnnotation(method, type), "value");
+        if (SUBSCRIBE.equals(type) && EMPTY_KEY.equals(key)) {
+            DeclaredType eventType = getEventType(method);
+            return eventType == null ? key
+                    : TYPE_KEY_PREFIX + binaryName((TypeElement) eventType.asElement());
+        }
+        return key;
+    }
+
+    private static boolean isEvent(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && ((TypeElement) ((DeclaredType) type)
+                .asElement()).getQualifiedName().contentEquals(EVENT);
+    }
+
+
+    private void writeIndex(String indexName) {
+        int lastDot = indexName.lastIndexOf('.');
+        String pkg = lastDot == -1 ? "" : indexName.substring(0, lastDot);
+        String simpleName = indexName.substring(lastDot + 1);
+
+        // Sorting classes by name to get stable output
+        Map<String, List<String>> entries = new TreeMap<>();
+        List<Element> originating = new ArrayList<>();
+
+        for (Map.Entry<TypeElement, Set<ExecutableElement>> entry : methods.entrySet()) {
+            TypeElement clazz = entry.getKey();
+            List<String> list = toIndexEntries(clazz, entry.getValue(), pkg);
+            if (list == null) {
+                continue;
+            }
+
+            entries.put(binaryName(clazz), list);
+            originating.add(clazz);
+
+            // Super classes without annotated methods are added as empty entries, so that they
+            // are not scanned with reflection at runtime
+            TypeElement superClazz = superClass(clazz);
+            while (superClazz != null && !methods.containsKey(superClazz)
+                    && !hasEventsAnnotations(superClazz)) {
+                entries.put(binaryName(superClazz), Collections.<String>emptyList());
+                superClazz = superClass(superClazz);
+            }
+        }
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(indexName,
+                    originating.toArray(new Element[originating.size()]));
+            try (Writer writer = file.openWriter()) {
+                writer.write(generateIndex(pkg, simpleName, entries));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Cannot write events index " + indexName + ": " + e);
+        }
+    }
+
+    // Returns list of IndexedMethod constructors or null if class cannot be indexed
+    private List<String> toIndexEntries(TypeElement clazz, Set<ExecutableElement> methods,
+            String pkg) {
+
+        List<String> list = new ArrayList<>();
+
+        // Keeping methods in declaration order
+        for (Element element : clazz.getEnclosedElements()) {
+            if (!methods.contains(element)) {
+                continue;
+            }
+
+            ExecutableElement method = (ExecutableElement) element;
+            String type = mainAnnotation(method);
+            if (type == null) {
+                continue; // Not possible for valid methods
+            }
+
+            StringBuilder params = new StringBuilder();
+            StringBuilder args = new StringBuilder();
+            List<? extends VariableElement> paramsList = method.getParameters();
+            for (int i = 0, size = paramsList.size(); i < size; i++) {
+                TypeMirror paramType =
+                        processingEnv.getTypeUtils().erasure(paramsList.get(i).asType());
+                if (!isAccessible(paramType, pkg)) {
+                    note("Class " + clazz.getQualifiedName() + " is not indexed: parameter type "
+                            + paramType + " of method " + toString(method) + " is not accessible"
+                            + " from index package");
+                    return null;
+                }
+                params.append(params.length() == 0 ? "" : ", ")
+                        .append(toClassLiteral(paramType));
+                args.append(args.length() == 0 ? "" : ", ")
+                        .append('(').append(toCastType(paramType)).append(") args[")
+                        .append(i).append(']');
+            }
+
+            AnnotationMirror background = getAnnotation(method, BACKGROUND);
+            AnnotationMirror cache = getAnnotation(method, CACHE);
+            String cacheLiteral = "null";
+
+            if (cache != null) {
+                TypeMirror cacheType = (TypeMirror) getValue(cache, "value");
+                if (!isAccessible(cacheType, pkg)) {
+                    note("Class " + clazz.getQualifiedName() + " is not indexed: cache provider "
+                            + cacheType + " of method " + toString(method) + " is not accessible"
+                            + " from index package");
+                    return null;
+                }
+                cacheLiteral = toClassLiteral(cacheType);
+            }
+
+            String key = getKey(method, type);
+            String pool = background == null ? "default" : (String) getValue(background, "pool");
+            // Only subscribers and result callbacks have priority
+            Object priority = SUBSCRIBE.equals(type) || RESULT.equals(type)
+                    ? getValue(getAnnotation(method, type), "priority") : "NORMAL";
+            boolean isCollapsing = SUBSCRIBE.equals(type)
+                    && (Boolean) getValue(getAnnotation(method, type), "collapse");
+
+            list.add("new IndexedMethod("
+                    + processingEnv.getElementUtils().getConstantExpression(
+                            method.getSimpleName().toString()) + ", "
+                    + "new Class<?>[] { " + params + " }, "
+                    + type + ".class, "
+                    + processingEnv.getElementUtils().getConstantExpression(key) + ", "
+                    + isStatic(method) + ", "
+                    + (method.getReturnType().getKind() != TypeKind.VOID) + ", "
+                    + (background != null) + ", "
+                    + (background != null && (Boolean) getValue(background, "singleThread"))
+                    + ", "
+                    + (background != null && (Boolean) getValue(background, "keyedSerial"))
+                    + ", "
+                    + processingEnv.getElementUtils().getConstantExpression(pool) + ", "
+                    + PRIORITY + "." + priority + ", "
+                    + isCollapsing + ", "
+                    + cacheLiteral + ", "
+                    + generateInvoker(clazz, method, args, pkg) + ")");
+        }
+
+        return list;
+    }
+
+    // Returns code of anonymous invoker class or null if method cannot be called from index
+    private String generateInvoker(TypeElement clazz, ExecutableElement method,
+            CharSequence args, String pkg) {
+
+        Set<Modifier> modifiers = method.getModifiers();
+        boolean isSamePackage = pkg.equals(processingEnv.getElementUtils().getPackageOf(clazz)
+                .getQualifiedName().toString());
+
+        if (modifiers.contains(Modifier.PRIVATE)
+                || (!modifiers.contains(Modifier.PUBLIC) && !isSamePackage)
+                || !isAccessible(processingEnv.getTypeUtils().erasure(clazz.asType()), pkg)) {
+            return "null";
+        }
+
+        String className = clazz.getQualifiedName().toString();
+        String call = (isStatic(method) ? className : "((" + className + ") target)")
+                + "." + method.getSimpleName() + "(" + args + ")";
+        boolean isVoid = method.getReturnType().getKind() == TypeKind.VOID;
+
+        String indent = "                        ";
+        return "new MethodInvoker() {\n"
+                + indent + "    @Override\n"
+                + indent + "    public Object invoke(Object target, Object[] args)"
+                + " throws Throwable {\n"
+                + (isVoid
+                ? indent + "        " + call + ";\n" + indent + "        return null;\n"
+                : indent + "        return " + call + ";\n")
+                + indent + "    }\n"
+                + indent + "}";
+    }
+
+    private static String generateIndex(String pkg, String simpleName,
+            Map<String, List<String>> entries) {
+
+        StringBuilder code = new StringBuilder();
+
+        if (!pkg.isEmpty()) {
+            code.append("package ").append(pkg).append(";\n\n");
+        }
+
+        code.append("import com.alexvasilkov.events.index.EventsIndex;\n")
+                .append("import com.alexvasilkov.events.index.IndexedMethod;\n")
+                .append("import com.alexvasilkov.events.index.MethodInvoker;\n\n")
+                .append("/**\n * Generated by events annotation processor, do not edit.\n */\n")
+                .append("@SuppressWarnings(\"unchecked\")\n")
+                .append("public final class ").append(simpleName)
+                .append(" implements EventsIndex {\n\n")
+                .append("    @Override\n")
+                .append("    public IndexedMethod[] getMethods(String className) {\n")
+                .append("        switch (className) {\n");
+
+        for (Map.Entry<String, List<String>> entry : entries.entrySet()) {
+            code.append("            case \"").append(entry.getKey()).append("\":\n")
+                    .append("                return new IndexedMethod[] {\n");
+            for (String method : entry.getValue()) {
+                code.append("                        ").append(method).append(",\n");
+            }
+            code.append("                };\n");
+        }
+
+        code.append("            default:\n")
+                .append("                return null;\n")
+                .append("        }\n")
+                .append("    }\n\n")
+                .append("}\n");
+
+        return code.toString();
+    }
+
+
+    private boolean isAccessible(TypeMirror type, String pkg) {
+        if (type.getKind().isPrimitive()) {
+            return true;
+        } else if (type.getKind() == TypeKind.ARRAY) {
+            return isAccessible(((ArrayType) type).getComponentType(), pkg);
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            Element element = ((DeclaredType) type).asElement();
+            while (element.getKind().isClass() || element.getKind().isInterface()) {
+                Set<Modifier> modifiers = element.getModifiers();
+                String elementPkg = processingEnv.getElementUtils().getPackageOf(element)
+                        .getQualifiedName().toString();
+
+                if (modifiers.contains(Modifier.PRIVATE)
+                        || (!modifiers.contains(Modifier.PUBLIC) && !elementPkg.equals(pkg))) {
+                    return false;
+                }
+                element = element.getEnclosingElement();
+            }
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    private static String toClassLiteral(TypeMirror type) {
+        return toSourceName(type) + ".class";
+    }
+
+    private static String toSourceName(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return toSourceName(((ArrayType) type).getComponentType()) + "[]";
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        } else {
+            return type.toString();
+        }
+    }
+
+    // Primitive types are casted to their wrappers, to be unboxed automatically
+    private String toCastType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type)
+                    .getQualifiedName().toString();
+        } else {
+            return toSourceName(type);
+        }
+    }
+
+    private String binaryName(TypeElement clazz) {
+        return processingEnv.getElementUtils().getBinaryName(clazz).toString();
+    }
+
+    // Returns super class or null if there is no super class or it is a system class
+    private static TypeElement superClass(TypeElement clazz) {
+        TypeMirror superType = clazz.getSuperclass();
+        if (superType.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        TypeElement superClazz = (TypeElement) ((DeclaredType) superType).asElement();
+        String name = superClazz.getQualifiedName().toString();
+        // Same as at runtime, system classes are ignored
+        return name.startsWith("android.") || name.startsWith("java.") ? null : superClazz;
+    }
+
+    private static boolean hasEventsAnnotations(TypeElement clazz) {
+        for (Element element : clazz.getEnclosedElements()) {
+            if (element.getKind() == ElementKind.METHOD) {
+                for (String an : ANNOTATIONS) {
+                    if (has(element, an)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String mainAnnotation(ExecutableElement method) {
+        for (String an : Arrays.asList(SUBSCRIBE, STATUS, RESULT, FAILURE)) {
+            if (has(method, an)) {
+                return an;
+            }
+        }
+        return null;
+    }
+
+    private static boolean has(Element element, String annotation) {
+        return getAnnotation(element, annotation) != null;
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    private Object getValue(AnnotationMirror mirror, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : values.entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isStatic(ExecutableElement method) {
+        return method.getModifiers().contains(Modifier.STATIC);
+    }
+
+    private static String simpleName(String annotation) {
+        return annotation.substring(annotation.lastIndexOf('.') + 1);
+    }
+
+    private static String toString(ExecutableElement method) {
+        return method.getEnclosingElement().getSimpleName() + "." + method.getSimpleName() + "()";
+    }
+
+    private boolean error(Element element, String msg) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg, element);
+        return false;
+    }
+
+    private void note(String msg) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, msg);
+    }
+
+}
@@ -0,0 +1,425 @@
+package com.alexvasilkov.events.compiler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EventsProcessorTest {
+
+    private static final String INDEX = "test.TestIndex";
+
+    // Minimal copies of library classes used by processor and generated index
+    private static final String[] LIBRARY = new String[] {
+            "package com.alexvasilkov.events;\n"
+                    + "public class Events {\n"
+                    + "  public @interface Subscribe {\n"
+                    + "    String value() default \"com.alexvasilkov.events.internal#EMPTY\";\n"
+                    + "    Priority priority() default Priority.NORMAL;\n"
+                    + "    boolean collapse() default false;\n"
+                    + "  }\n"
+                    + "  public @interface Status { String value(); }\n"
+                    + "  public @interface Result {\n"
+                    + "    String value();\n"
+                    + "    Priority priority() default Priority.NORMAL;\n"
+                    + "  }\n"
+                    + "  public @interface Failure { String value() default \"\"; }\n"
+                    + "  public @interface Background {\n"
+                    + "    boolean singleThread() default false;\n"
+                    + "    boolean keyedSerial() default false;\n"
+                    + "    String pool() default \"default\";\n"
+                    + "  }\n"
+                    + "  public @interface Cache {\n"
+                    + "    Class<? extends com.alexvasilkov.events.cache.CacheProvider> value();\n"
+                    + "  }\n"
+                    + "}",
+            "package com.alexvasilkov.events;\n"
+                    + "public class Event {}",
+            "package com.alexvasilkov.events;\n"
+                    + "public enum Priority { LOW, NORMAL, HIGH }",
+            "package com.alexvasilkov.events.cache;\n"
+                    + "public interface CacheProvider {}",
+            "package com.alexvasilkov.events.cache;\n"
+                    + "public class MemoryCache implements CacheProvider {}",
+            "package com.alexvasilkov.events.index;\n"
+                    + "public interface EventsIndex {\n"
+                    + "  IndexedMethod[] getMethods(String className);\n"
+                    + "}",
+            "package com.alexvasilkov.events.index;\n"
+                    + "public interface MethodInvoker {\n"
+                    + "  Object invoke(Object target, Object[] args) throws Throwable;\n"
+                    + "}",
+            "package com.alexvasilkov.events.index;\n"
+                    + "public class IndexedMethod {\n"
+                    + "  public final Object[] values;\n"
+                    + "  public IndexedMethod(String name, Class<?>[] params, Class<?> type,\n"
+                    + "      String key, boolean isStatic, boolean hasReturn, boolean isBack,\n"
+                    + "      boolean isSingle, boolean isKeyed, String pool,\n"
+                    + "      com.alexvasilkov.events.Priority priority, boolean isCollapsing,\n"
+                    + "      Class<?> cache, MethodInvoker invoker) {\n"
+                    + "    values = new Object[] { name, params, type, key, isStatic,\n"
+                    + "        hasReturn, isBack, isSingle, pool, cache, invoker, isKeyed,\n"
+                    + "        priority.name(), isCollapsing };\n"
+                    + "  }\n"
+                    + "}"
+    };
+
+    private static final String IMPORTS = "package test;\n"
+            + "import com.alexvasilkov.events.Events.*;\n"
+            + "import com.alexvasilkov.events.cache.MemoryCache;\n";
+
+    private File outDir;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @Before
+    public void setup() throws IOException {
+        outDir = File.createTempFile("events-processor", "");
+        assertTrue(outDir.delete() && outDir.mkdir());
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    @After
+    public void cleanup() {
+        delete(outDir);
+    }
+
+    @Test
+    public void generatesIndex() throws Exception {
+        assertTrue(compile(IMPORTS
+                + "class Base {}\n"
+                + "class Target extends Base {\n"
+                + "  @Subscribe(\"a\") void subscribe(String s, int i, long[] array) {}\n"
+                + "  @Cache(MemoryCache.class) @Background(singleThread = true, pool = \"io\")\n"
+                + "  @Subscribe(\"b\") static Object background() { return null; }\n"
+                + "  @Failure void failure(Throwable error) {}\n"
+                + "  void notAnnotated() {}\n"
+                + "}"));
+
+        Object[] methods = getIndexedMethods("test.Target");
+        assertEquals(3, methods.length);
+
+        assertIndexedMethod(methods[0], "subscribe",
+                new Class<?>[] { String.class, int.class, long[].class },
+                "Subscribe", "a", false, false, false, false, false);
+        assertIndexedMethod(methods[1], "background", new Class<?>[0],
+                "Subscribe", "b", true, true, true, true, true);
+        assertEquals("default", getValues(methods[0])[8]);
+        assertEquals("io", getValues(methods[1])[8]);
+        assertEquals(false, getValues(methods[1])[11]);
+        assertIndexedMethod(methods[2], "failure", new Class<?>[] { Throwable.class },
+                "Failure", "", false, false, false, false, false);
+
+        // Super class without annotated methods should be indexed as well
+        assertEquals(0, getIndexedMethods("test.Base").length);
+        assertNull(getIndexedMethods("test.Unknown"));
+    }
+
+    @Test
+    public void storesKeyedSerialFlag() throws Exception {
+        assertTrue(compile(IMPORTS
+                + "class Target {\n"
+                + "  @Background(keyedSerial = true)\n"
+                + "  @Subscribe(\"a\") static void keyed(long id) {}\n"
+                + "}"));
+
+        Object[] methods = getIndexedMethods("test.Target");
+        assertEquals(1, methods.length);
+        assertEquals(true, getValues(methods[0])[11]);
+    }
+
+    @Test
+    public void storesPriority() throws Exception {
+        assertTrue(compile(IMPORTS
+                + "import com.alexvasilkov.events.Priority;\n"
+                + "class Target {\n"
+                + "  @Subscribe(value = \"a\", priority = Priority.LOW) void subscribe() {}\n"
+                + "  @Result(value = \"a\", priority = Priority.HIGH) void result() {}\n"
+                + "  @Status(\"a\") void status() {}\n"
+                + "}"));
+
+        Object[] methods = getIndexedMethods("test.Target");
+        assertEquals(3, methods.length);
+        assertEquals("LOW", getValues(methods[0])[12]);
+        assertEquals("HIGH", getValues(methods[1])[12]);
+        assertEquals("NORMAL", getValues(methods[2])[12]);
+    }
+
+    @Test
+    public void storesCollapseFlag() throws Exception {
+        assertTrue(compile(IMPORTS
+                + "class Target {\n"
+                + "  @Subscribe(value = \"a\", collapse = true) void collapsing() {}\n"
+                + "  @Subscribe(\"b\") void regular() {}\n"
+                + "  @Result(\"a\") void result() {}\n"
+                + "}"));
+
+        Object[] methods = getIndexedMethods("test.Target");
+        assertEquals(3, methods.length);
+        assertEquals(true, getValues(methods[0])[13]);
+        assertEquals(false, getValues(methods[1])[13]);
+        assertEquals(false, getValues(methods[2])[13]);
+    }
+
+    @Test
+    public void generatesInvokers() throws Exception {
+        assertTrue(compile(IMPORTS
+                + "class Target {\n"
+                + "  int calls;\n"
+                + "  @Subscribe(\"a\") static long sum(int a, Integer b) { return a + b; }\n"
+                + "  @Subscribe(\"b\") void count() { calls++; }\n"
+                + "  @Subscribe(\"c\") private void hidden() {}\n"
+                + "}"));
+
+        Object[] methods = getIndexedMethods("test.Target");
+        assertEquals(3, methods.length);
+
+        Object sum = invoke(methods[0], null, 1, 2);
+        assertEquals(3L, sum);
+
+        Class<?> targetClass = methods[0].getClass().getClassLoader().loadClass("test.Target");
+        Constructor<?> constructor = targetClass.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        Object target = constructor.newInstance();
+        assertNull(invoke(methods[1], target));
+
+        Field calls = targetClass.getDeclaredField("calls");
+        calls.setAccessible(true);
+        assertEquals(1, calls.get(target));
+
+        // Private methods can only be called with reflection
+        assertNull(getValues(methods[2])[10]);
+    }
+
+    @Test
+    public void generatesTypedKeys() throws Exception {
+        assertTrue(compile(IMPORTS
+                + "import com.alexvasilkov.events.Event;\n"
+                + "class Target {\n"
+                + "  @Subscribe void typed(Target.Loaded loaded) {}\n"
+                + "  @Subscribe void typedWithEvent(Event event, Runnable runnable) {}\n"
+                + "  static class Loaded {}\n"
+                + "}"));
+
+        Object[] methods = getIndexedMethods("test.Target");
+        assertEquals(2, methods.length);
+        assertEquals("com.alexvasilkov.events.internal#TYPE#test.Target$Loaded",
+                getValues(methods[0])[3]);
+        assertEquals("com.alexvasilkov.events.internal#TYPE#java.lang.Runnable",
+                getValues(methods[1])[3]);
+    }
+
+    @Test
+    public void emptyKeyIsNotTyped() throws Exception {
+        assertTrue(compile(IMPORTS
+                + "class Target {\n"
+                + "  @Subscribe(\"\") void subscribe(String value) {}\n"
+                + "}"));
+
+        Object[] methods = getIndexedMethods("test.Target");
+        assertEquals(1, methods.length);
+        assertEquals("", getValues(methods[0])[3]);
+    }
+
+    @Test
+    public void skipsClassWithInaccessibleTypes() throws Exception {
+        assertTrue(compile(IMPORTS
+                + "class Target {\n"
+                + "  @Subscribe(\"a\") void subscribe(Param param) {}\n"
+                + "  private static class Param {}\n"
+                + "}"));
+
+        assertNull(getIndexedMethods("test.Target"));
+    }
+
+    @Test
+    public void failsIfBackgroundNotStatic() {
+        assertError("Target.subscribe() marked with @Background should be static", IMPORTS
+                + "class Target {\n"
+                + "  @Background @Subscribe(\"a\") void subscribe() {}\n"
+                + "}");
+    }
+
+    @Test
+    public void failsIfBackgroundWithoutSubscribe() {
+        assertError("Target.background() should be marked with @Subscribe", IMPORTS
+                + "class Target {\n"
+                + "  @Background static void background() {}\n"
+                + "}");
+    }
+
+    @Test
+    public void failsIfTypedSubscriberHasNoEventType() {
+        assertError("Target.typed() marked with @Subscribe without event key should have single"
+                + " parameter of event type", IMPORTS
+                + "class Target {\n"
+                + "  @Subscribe void typed(String a, String b) {}\n"
+                + "}");
+    }
+
+    @Test
+    public void failsIfSeveralAnnotations() {
+        assertError("Target.subscribe() marked with @Subscribe cannot be marked with @Result",
+                IMPORTS
+                        + "class Target {\n"
+                        + "  @Result(\"a\") @Subscribe(\"a\") void subscribe() {}\n"
+                        + "}");
+    }
+
+    @Test
+    public void failsIfCallbackHasReturnType() {
+        assertError("Target.status() marked with @Status can only have void return type", IMPORTS
+                + "class Target {\n"
+                + "  @Status(\"a\") Object status() { return null; }\n"
+                + "}");
+    }
+
+
+    private boolean compile(String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        List<JavaFileObject> files = new ArrayList<>();
+        for (String library : LIBRARY) {
+            files.add(new Source(library));
+        }
+        files.add(new Source(source));
+
+        List<String> options = Arrays.asList("-d", outDir.getPath(), "-s", outDir.getPath(),
+                "-A" + EventsProcessor.OPTION_INDEX + "=" + INDEX);
+
+        JavaCompiler.CompilationTask task =
+                compiler.getTask(null, null, diagnostics, options, null, files);
+        task.setProcessors(Collections.singletonList(new EventsProcessor()));
+        return task.call();
+    }
+
+    private void assertError(String expected, String source) {
+        assertFalse(compile(source));
+
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR
+                    && diagnostic.getMessage(Locale.US).contains(expected)) {
+                return;
+            }
+        }
+        throw new AssertionError("No error: " + expected + ", got: "
+                + diagnostics.getDiagnostics());
+    }
+
+    private Object[] getIndexedMethods(String className) throws Exception {
+        ClassLoader loader = new URLClassLoader(new URL[] { outDir.toURI().toURL() });
+        Class<?> indexClass = loader.loadClass(INDEX);
+        Method getMethods = indexClass.getMethod("getMethods", String.class);
+        Object result = getMethods.invoke(indexClass.getConstructor().newInstance(), className);
+
+        if (result == null) {
+            return null;
+        }
+        Object[] methods = new Object[Array.getLength(result)];
+        for (int i = 0; i < methods.length; i++) {
+            methods[i] = Array.get(result, i);
+        }
+        return methods;
+    }
+
+    private static void assertIndexedMethod(Object method, String name, Class<?>[] params,
+            String type, String key, boolean isStatic, boolean hasReturn, boolean isBackground,
+            boolean isSingleThread, boolean hasCache) throws Exception {
+
+        Object[] values = getValues(method);
+        assertEquals(name, values[0]);
+        assertTrue(Arrays.equals(params, (Class<?>[]) values[1]));
+        assertEquals(type, ((Class<?>) values[2]).getSimpleName());
+        assertEquals(key, values[3]);
+        assertEquals(isStatic, values[4]);
+        assertEquals(hasReturn, values[5]);
+        assertEquals(isBackground, values[6]);
+        assertEquals(isSingleThread, values[7]);
+        if (hasCache) {
+            assertNotNull(values[9]);
+        } else {
+            assertNull(values[9]);
+        }
+    }
+
+    private static Object[] getValues(Object method) throws Exception {
+        return (Object[]) method.getClass().getField("values").get(method);
+    }
+
+    private static Object invoke(Object method, Object target, Object... args)
+            throws Exception {
+        Object invoker = getValues(method)[10];
+        assertNotNull(invoker);
+        Class<?> invokerClass = method.getClass().getClassLoader()
+                .loadClass("com.alexvasilkov.events.index.MethodInvoker");
+        return invokerClass.getMethod("invoke", Object.class, Object[].class)
+                .invoke(invoker, target, args);
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+
+    private static class Source extends SimpleJavaFileObject {
+        private final String code;
+
+        Source(String code) {
+            super(URI.create("string:///" + getName(code).replace('.', '/') + ".java"),
+                    Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+
+        // Extracts qualified name of first declared class, interface, enum or annotation
+        private static String getName(String code) {
+            String pkg = code.substring("package ".length(), code.indexOf(';'));
+            String[] words = code.substring(code.indexOf('\n') + 1).split("[\\s{]+");
+            for (int i = 0; i < words.length - 1; i++) {
+                if (words[i].equals("class") || words[i].equals("interface")
+                        || words[i].equals("enum")) {
+                    return pkg + "." + words[i + 1];
+                }
+            }
+            throw new IllegalArgumentException("No class found");
+        }
+    }
+
+}
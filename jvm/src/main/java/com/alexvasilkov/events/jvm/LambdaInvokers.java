@@ -0,0 +1,246 @@
+package com.alexvasilkov.events.jvm;
+
+import com.alexvasilkov.events.index.MethodInvoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates invokers backed by classes spun with {@link LambdaMetafactory}, which call the method
+ * directly and can be fully inlined by JIT.
+ * <p/>
+ * Lambda metafactory cannot spread arguments array, so methods are bound to functional
+ * interfaces with fixed number of parameters (including target object for non-static methods),
+ * up to {@link #MAX_PARAMS}.
+ * <p/>
+ * Functional interfaces are public only to be accessible from subscribers' classes,
+ * they should not be used directly.
+ */
+public final class LambdaInvokers {
+
+    static final int MAX_PARAMS = 4;
+
+    private static final Class<?>[] VALUES = new Class<?>[] {
+            Value0.class, Value1.class, Value2.class, Value3.class, Value4.class
+    };
+    private static final Class<?>[] VOIDS = new Class<?>[] {
+            Void0.class, Void1.class, Void2.class, Void3.class, Void4.class
+    };
+
+    private LambdaInvokers() {
+        // No instances
+    }
+
+    /**
+     * Returns invoker for given method or {@code null} if method has too many parameters.
+     *
+     * @param lookup Lookup with private access to method's declaring class
+     */
+    static MethodInvoker create(MethodHandles.Lookup lookup, Method method) throws Throwable {
+        MethodHandle handle = lookup.unreflect(method);
+        MethodType type = handle.type();
+        int count = type.parameterCount();
+
+        if (count > MAX_PARAMS || method.isVarArgs()) {
+            return null;
+        }
+
+        boolean isVoid = type.returnType() == void.class;
+        Class<?> fnType = (isVoid ? VOIDS : VALUES)[count];
+
+        MethodType samType = MethodType.genericMethodType(count);
+        // Primitive parameters are unboxed and primitive result is boxed by metafactory
+        MethodType instantiatedType = type.wrap();
+        if (isVoid) {
+            samType = samType.changeReturnType(void.class);
+            instantiatedType = instantiatedType.changeReturnType(void.class);
+        } else {
+            instantiatedType = instantiatedType.changeReturnType(Object.class);
+        }
+
+        CallSite site = LambdaMetafactory.metafactory(lookup, "call",
+                MethodType.methodType(fnType), samType, handle, instantiatedType);
+        Object fn = site.getTarget().invoke();
+
+        boolean hasTarget = !Modifier.isStatic(method.getModifiers());
+        return isVoid ? createVoid(fn, count, hasTarget) : createValue(fn, count, hasTarget);
+    }
+
+    private static MethodInvoker createValue(Object fn, int count, final boolean hasTarget) {
+        switch (count) {
+            case 0: {
+                final Value0 f = (Value0) fn;
+                return new MethodInvoker() {
+                    @Override
+                    public Object invoke(Object target, Object[] args) {
+                        return f.call();
+                    }
+                };
+            }
+            case 1: {
+                final Value1 f = (Value1) fn;
+                return new MethodInvoker() {
+                    @Override
+                    public Object invoke(Object target, Object[] args) {
+                        return hasTarget ? f.call(target) : f.call(args[0]);
+                    }
+                };
+            }
+            case 2: {
+                final Value2 f = (Value2) fn;
+                return new MethodInvoker() {
+                    @Override
+                    public Object invoke(Object target, Object[] args) {
+                        return hasTarget
+                                ? f.call(target, args[0])
+                                : f.call(args[0], args[1]);
+                    }
+                };
+            }
+            case 3: {
+                final Value3 f = (Value3) fn;
+                return new MethodInvoker() {
+                    @Override
+                    public Object invoke(Object target, Object[] args) {
+                        return hasTarget
+                                ? f.call(target, args[0], args[1])
+                                : f.call(args[0], args[1], args[2]);
+                    }
+                };
+            }
+            case 4: {
+                final Value4 f = (Value4) fn;
+                return new MethodInvoker() {
+                    @Override
+                    public Object invoke(Object target, Object[] args) {
+                        return hasTarget
+                                ? f.call(target, args[0], args[1], args[2])
+                                : f.call(args[0], args[1], args[2], args[3]);
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported parameters count: " + count);
+        }
+    }
+
+    private static MethodInvoker createVoid(Object fn, int count, final boolean hasTarget) {
+        switch (count) {
+            case 0: {
+                final Void0 f = (Void0) fn;
+                return new MethodInvoker() {
+                    @Override
+                    public Object invoke(Object target, Object[] args) {
+                        f.call();
+                        return null;
+                    }
+                };
+            }
+            case 1: {
+                final Void1 f = (Void1) fn;
+                return new MethodInvoker() {
+                    @Override
+                    public Object invoke(Object target, Object[] args) {
+                        if (hasTarget) {
+                            f.call(target);
+                        } else {
+                            f.call(args[0]);
+                        }
+                        return null;
+                    }
+                };
+            }
+            case 2: {
+                final Void2 f = (Void2) fn;
+                return new MethodInvoker() {
+                    @Override
+                    public Object invoke(Object target, Object[] args) {
+                        if (hasTarget) {
+                            f.call(target, args[0]);
+                        } else {
+                            f.call(args[0], args[1]);
+                        }
+                        return null;
+                    }
+                };
+            }
+            case 3: {
+                final Void3 f = (Void3) fn;
+                return new MethodInvoker() {
+                    @Override
+                    public Object invoke(Object target, Object[] args) {
+                        if (hasTarget) {
+                            f.call(target, args[0], args[1]);
+                        } else {
+                            f.call(args[0], args[1], args[2]);
+                        }
+                        return null;
+                    }
+                };
+            }
+            case 4: {
+                final Void4 f = (Void4) fn;
+                return new MethodInvoker() {
+                    @Override
+                    public Object invoke(Object target, Object[] args) {
+                        if (hasTarget) {
+                            f.call(target, args[0], args[1], args[2]);
+                        } else {
+                            f.call(args[0], args[1], args[2], args[3]);
+                        }
+                        return null;
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported parameters count: " + count);
+        }
+    }
+
+
+    public interface Value0 {
+        Object call();
+    }
+
+    public interface Value1 {
+        Object call(Object p1);
+    }
+
+    public interface Value2 {
+        Object call(Object p1, Object p2);
+    }
+
+    public interface Value3 {
+        Object call(Object p1, Object p2, Object p3);
+    }
+
+    public interface Value4 {
+        Object call(Object p1, Object p2, Object p3, Object p4);
+    }
+
+    public interface Void0 {
+        void call();
+    }
+
+    public interface Void1 {
+        void call(Object p1);
+    }
+
+    public interface Void2 {
+        void call(Object p1, Object p2);
+    }
+
+    public interface Void3 {
+        void call(Object p1, Object p2, Object p3);
+    }
+
+    public interface Void4 {
+        void call(Object p1, Object p2, Object p3, Object p4);
+    }
+
+}
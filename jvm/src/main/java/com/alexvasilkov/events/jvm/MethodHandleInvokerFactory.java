@@ -0,0 +1,102 @@
+package com.alexvasilkov.events.jvm;
+
+import android.support.annotation.NonNull;
+
+import com.alexvasilkov.events.index.InvokerFactory;
+import com.alexvasilkov.events.index.MethodInvoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Creates invokers based on method handles, which can be inlined by JIT unlike reflection calls.
+ * Used by default on plain JVM if this class is available.
+ * <p/>
+ * On Java 9+ methods are bound to classes spun with lambda metafactory (see
+ * {@link LambdaInvokers}), which is as fast as direct call. Otherwise method handle is adapted
+ * to {@code (Object target, Object[] args)} signature and called with {@code invokeExact}.
+ * If method handle cannot be created, {@code null} is returned and reflection will be used.
+ * <p/>
+ * Arguments types are checked before invoker is called, so casting errors inside method handles
+ * and lambdas are never reported as method's own failures.
+ */
+public class MethodHandleInvokerFactory implements InvokerFactory {
+
+    private static final MethodType INVOKER_TYPE =
+            MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    // MethodHandles.privateLookupIn(Class, Lookup) is only available since Java 9
+    private static final Method PRIVATE_LOOKUP_IN = findPrivateLookupIn();
+
+    private final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    @Override
+    public MethodInvoker create(@NonNull Method method) {
+        MethodHandles.Lookup privateLookup = privateLookup(method.getDeclaringClass());
+        if (privateLookup != null) {
+            try {
+                MethodInvoker invoker = LambdaInvokers.create(privateLookup, method);
+                if (invoker != null) {
+                    return invoker;
+                }
+            } catch (Throwable ignored) {
+                // Falling back to method handle
+            }
+        }
+
+        MethodHandle handle;
+        try {
+            handle = lookup.unreflect(method).asFixedArity();
+        } catch (IllegalAccessException e) {
+            return null; // Falling back to reflection
+        }
+
+        if (Modifier.isStatic(method.getModifiers())) {
+            // Target object is ignored for static methods
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+
+        int count = method.getParameterTypes().length;
+        handle = handle.asSpreader(Object[].class, count).asType(INVOKER_TYPE);
+
+        return new HandleInvoker(handle);
+    }
+
+    private MethodHandles.Lookup privateLookup(Class<?> clazz) {
+        if (PRIVATE_LOOKUP_IN == null) {
+            return null;
+        }
+        try {
+            return (MethodHandles.Lookup) PRIVATE_LOOKUP_IN.invoke(null, clazz, lookup);
+        } catch (Exception e) {
+            return null; // I.e. class's module is not open to us
+        }
+    }
+
+    private static Method findPrivateLookupIn() {
+        try {
+            return MethodHandles.class.getMethod("privateLookupIn",
+                    Class.class, MethodHandles.Lookup.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+
+    private static class HandleInvoker implements MethodInvoker {
+        private final MethodHandle handle;
+
+        HandleInvoker(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke(Object target, @NonNull Object[] args) throws Throwable {
+            return (Object) handle.invokeExact(target, args);
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.alexvasilkov.events.jvm;
+
+import com.alexvasilkov.events.Events;
+import com.alexvasilkov.events.Events.Failure;
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.EventsException;
+import com.alexvasilkov.events.internal.EventsParams;
+import com.alexvasilkov.events.loop.EventsLoop;
+import com.alexvasilkov.events.loop.JvmLoop;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that wrong event params passed to factory created invokers are reported same as with
+ * reflection, and not as subscriber's failure.
+ */
+public class InvokerArgumentsTest {
+
+    private static final String LAMBDA_KEY = "LAMBDA_INVOKER";
+    private static final String HANDLE_KEY = "HANDLE_INVOKER";
+
+    private EventsLoop previousLoop;
+
+    @Before
+    public void setup() {
+        previousLoop = EventsParams.getLoop();
+        // Events are dispatched right away on test thread
+        Events.setLoop(JvmLoop.forCurrentThread());
+        // Same as default factory on JVM, set explicitly to not depend on class path
+        Events.setInvokerFactory(new MethodHandleInvokerFactory());
+    }
+
+    @After
+    public void cleanup() {
+        Events.setLoop(previousLoop);
+    }
+
+    @Test
+    public void lambdaInvokerArgumentsAreChecked() {
+        checkWrongParam(new LambdaTarget(), LAMBDA_KEY);
+    }
+
+    @Test
+    public void handleInvokerArgumentsAreChecked() {
+        // Too many parameters for lambda invokers, method handle is used instead
+        checkWrongParam(new HandleTarget(), HANDLE_KEY);
+    }
+
+    private static void checkWrongParam(FailureTarget target, String key) {
+        Events.register(target);
+        try {
+            Events.create(key).param(1, 2, 3, 4, 5).post();
+            fail("EventsException is expected");
+        } catch (EventsException expected) {
+            // Type mismatch is reported as invocation error
+        } finally {
+            Events.unregister(target);
+        }
+        assertFalse(target.isFailed);
+    }
+
+
+    private static class FailureTarget {
+        boolean isFailed;
+
+        @Failure
+        private void failure() {
+            isFailed = true;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class LambdaTarget extends FailureTarget {
+        @Subscribe(LAMBDA_KEY)
+        private void subscribe(String value) {}
+    }
+
+    @SuppressWarnings("unused")
+    private static class HandleTarget extends FailureTarget {
+        @Subscribe(HANDLE_KEY)
+        private void subscribe(String a, String b, String c, String d, String e) {}
+    }
+
+}
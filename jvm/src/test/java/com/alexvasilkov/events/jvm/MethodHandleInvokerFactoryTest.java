@@ -0,0 +1,107 @@
+package com.alexvasilkov.events.jvm;
+
+import com.alexvasilkov.events.index.MethodInvoker;
+
+import org.junit.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class MethodHandleInvokerFactoryTest {
+
+    private final MethodHandleInvokerFactory factory = new MethodHandleInvokerFactory();
+
+    @Test
+    public void canInvokeStaticMethod() throws Throwable {
+        MethodInvoker invoker = create("sum", int.class, Integer.class);
+        assertEquals(3L, invoker.invoke(null, new Object[] { 1, 2 }));
+    }
+
+    @Test
+    public void canInvokeInstanceMethod() throws Throwable {
+        Target target = new Target();
+        MethodInvoker invoker = create("store", String.class);
+        assertNull(invoker.invoke(target, new Object[] { "value" }));
+        assertEquals("value", target.value);
+    }
+
+    @Test
+    public void canInvokeVarargsMethod() throws Throwable {
+        MethodInvoker invoker = create("count", String[].class);
+        Object args = new String[] { "a", "b" };
+        assertEquals(2, invoker.invoke(null, new Object[] { args }));
+    }
+
+    @Test
+    public void exceptionIsThrownAsIs() throws Throwable {
+        MethodInvoker invoker = create("fail", RuntimeException.class);
+        RuntimeException error = new RuntimeException();
+        try {
+            invoker.invoke(null, new Object[] { error });
+        } catch (RuntimeException e) {
+            assertSame(error, e);
+            return;
+        }
+        throw new AssertionError("Exception is expected");
+    }
+
+    @Test
+    public void canInvokeMethodWithManyParams() throws Throwable {
+        // Too many parameters for lambda invokers, method handle should be used instead
+        MethodInvoker invoker = create("join", String.class, String.class, String.class,
+                String.class, String.class);
+        Object[] args = new Object[] { "a", "b", "c", "d", "e" };
+        assertEquals("abcde", invoker.invoke(new Target(), args));
+    }
+
+    @Test
+    public void lambdaInvokerIsUsedOnJava9() throws Exception {
+        boolean isJava9 = true;
+        try {
+            MethodHandles.class.getMethod("privateLookupIn",
+                    Class.class, MethodHandles.Lookup.class);
+        } catch (NoSuchMethodException e) {
+            isJava9 = false;
+        }
+
+        MethodInvoker invoker = create("store", String.class);
+        assertEquals(isJava9, invoker.getClass().getEnclosingClass() == LambdaInvokers.class);
+    }
+
+    private MethodInvoker create(String name, Class<?>... params) throws Exception {
+        Method method = Target.class.getDeclaredMethod(name, params);
+        method.setAccessible(true);
+        return factory.create(method);
+    }
+
+
+    @SuppressWarnings("unused")
+    private static class Target {
+        String value;
+
+        private static long sum(int a, Integer b) {
+            return a + b;
+        }
+
+        private void store(String value) {
+            this.value = value;
+        }
+
+        private static int count(String... values) {
+            return values.length;
+        }
+
+        private String join(String a, String b, String c, String d, String e) {
+            return a + b + c + d + e;
+        }
+
+        private static void fail(RuntimeException error) {
+            throw error;
+        }
+    }
+
+}
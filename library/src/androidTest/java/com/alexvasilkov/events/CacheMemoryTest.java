@@ -1,6 +1,7 @@
 package com.alexvasilkov.events;
 
 import android.os.SystemClock;
+import android.support.annotation.NonNull;
 import android.support.test.annotation.UiThreadTest;
 
 import com.alexvasilkov.events.Events.Cache;
@@ -57,6 +58,45 @@ public class CacheMemoryTest extends AbstractTest {
         counter.check(Subscribe.class, Subscribe.class);
     }
 
+    @Test
+    @UiThreadTest
+    public void testMemoryCacheArrayKeys() {
+        Object target = new Object() {
+            @Cache(MemoryCache.class)
+            @Subscribe(TASK_KEY)
+            private Object subscribe() {
+                counter.count(Subscribe.class);
+                return RESULT;
+            }
+        };
+
+        post(target, Events.create(TASK_KEY).param(new int[] { 1 }));
+        post(target, Events.create(TASK_KEY).param(new int[] { 1 }));
+        post(target, Events.create(TASK_KEY).param(new int[] { 2 }));
+
+        // Array params are compared by content, so subscriber should be called twice
+        counter.check(Subscribe.class, Subscribe.class);
+    }
+
+    @Test
+    @UiThreadTest
+    public void testMemoryCacheCustomKeys() {
+        Object target = new Object() {
+            @Cache(MemoryCacheByKey.class)
+            @Subscribe(TASK_KEY)
+            private Object subscribe() {
+                counter.count(Subscribe.class);
+                return RESULT;
+            }
+        };
+
+        post(target, Events.create(TASK_KEY));
+        post(target, Events.create(TASK_KEY).param(PARAM));
+
+        // Custom cache key ignores events params, so subscriber should only be called once
+        counter.check(Subscribe.class);
+    }
+
     @Test
     @UiThreadTest
     public void testMemoryCacheTimeLimit() {
@@ -90,4 +130,11 @@ public class CacheMemoryTest extends AbstractTest {
         }
     }
 
+    private static class MemoryCacheByKey extends MemoryCache {
+        @Override
+        protected String toCacheKey(@NonNull Event event) {
+            return event.getKey();
+        }
+    }
+
 }
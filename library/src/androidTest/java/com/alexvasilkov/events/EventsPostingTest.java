@@ -8,8 +8,13 @@ import com.alexvasilkov.events.utils.Counter;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
 public class EventsPostingTest extends AbstractTest {
 
+    private static final String HIGH_PRIORITY_KEY = "HIGH_PRIORITY_KEY";
+
     @Test
     @UiThreadTest
     public void canPost() {
@@ -63,6 +68,31 @@ public class EventsPostingTest extends AbstractTest {
         Events.post(EventsParams.EMPTY_KEY);
     }
 
+    @Test
+    @UiThreadTest
+    public void canPostBatch() {
+        post(new Target(), Events.batch()
+                .add(Events.create(TASK_KEY).param(counter))
+                .add(Events.create(TASK_KEY).param(counter)));
+        counter.check(Subscribe.class, Subscribe.class);
+    }
+
+    @Test(expected = EventsException.class)
+    @UiThreadTest
+    public void cannotPostBatchTwice() {
+        EventsBatch batch = Events.batch().add(TASK_KEY);
+        batch.post();
+        batch.post();
+    }
+
+    @Test(expected = EventsException.class)
+    @UiThreadTest
+    public void cannotAddPostedEventToBatch() {
+        Event.Builder builder = Events.create(TASK_KEY);
+        builder.post();
+        Events.batch().add(builder);
+    }
+
     @Test
     @UiThreadTest
     public void canPostOnceIfRegisteredTwice() {
@@ -79,6 +109,55 @@ public class EventsPostingTest extends AbstractTest {
         }
     }
 
+    @Test
+    @UiThreadTest
+    public void canPostWithPooling() {
+        try {
+            Events.setPoolingEnabled(true);
+            // Second event should reuse tasks of the first one
+            post(new Target(), Events.batch()
+                    .add(Events.create(TASK_KEY).param(counter))
+                    .add(Events.create(TASK_KEY).param(counter)));
+            counter.check(Subscribe.class, Subscribe.class);
+        } finally {
+            Events.setPoolingEnabled(false);
+        }
+    }
+
+    @Test
+    @UiThreadTest
+    public void canPostWithPriority() {
+        // Events posted at once should be executed according to their priorities
+        post(new PriorityTarget(), Events.batch()
+                .add(Events.create(TASK_KEY).param(counter, 1).priority(Priority.LOW))
+                .add(Events.create(TASK_KEY).param(counter, 2))
+                .add(Events.create(TASK_KEY).param(counter, 3).priority(Priority.HIGH))
+                .add(Events.create(HIGH_PRIORITY_KEY).param(counter, 4)));
+        counter.check(3, 4, 2, 1);
+    }
+
+    @Test
+    @UiThreadTest
+    public void paramsAreCopied() {
+        Object[] params = new Object[] { PARAM };
+        Event event = Events.create(TASK_KEY).param(params).param(RESULT).build();
+        params[0] = null;
+
+        assertEquals(2, event.getParamsCount());
+        assertSame(PARAM, event.getParam(0));
+        assertSame(RESULT, event.getParam(1));
+    }
+
+    private void post(Object target, EventsBatch batch) {
+        try {
+            Events.register(target);
+            batch.post();
+        } finally {
+            Events.unregister(target);
+        }
+    }
+
+
     private static class Target {
         @Subscribe(TASK_KEY)
         private void subscribe(Counter counter) {
@@ -93,6 +172,19 @@ public class EventsPostingTest extends AbstractTest {
         }
     }
 
+    private static class PriorityTarget {
+        @Subscribe(TASK_KEY)
+        private void subscribe(Counter counter, int value) {
+            counter.count(value);
+        }
+
+        // Subscriber's priority is applied to the whole event
+        @Subscribe(value = HIGH_PRIORITY_KEY, priority = Priority.HIGH)
+        private void subscribeHigh(Counter counter, int value) {
+            counter.count(value);
+        }
+    }
+
     private static class TargetStatic {
         @Subscribe(TASK_KEY)
         private static void subscribe(Counter counter) {
@@ -69,6 +69,34 @@ public class MethodParamsDataTest extends AbstractTest {
     }
 
 
+    @Test
+    public void eventParam_Primitives() {
+        Event event = new Builder().paramInt(1).param(PARAM).paramLong(2L).paramDouble(3.5d)
+                .build();
+
+        assertEquals(4, event.getParamsCount());
+        assertEquals(1, event.getParamInt(0));
+        assertEquals(2L, event.getParamLong(2));
+        assertEquals(3.5d, event.getParamDouble(3), 0d);
+
+        // Primitive values are boxed when accessed as objects
+        assertEquals(Integer.valueOf(1), event.getParam(0));
+        assertEquals(PARAM, event.getParam(1));
+        assertEquals(Long.valueOf(2L), event.getParam(2));
+        assertEquals(Double.valueOf(3.5d), event.getParam(3));
+    }
+
+    @Test
+    public void eventParam_Primitives_Converted() {
+        Event event = new Builder().param(1, PARAM).paramDouble(2.5d).build();
+
+        assertEquals(1L, event.getParamLong(0));
+        assertEquals(2, event.getParamInt(2));
+        // Non-numeric and non-existing values are returned as 0
+        assertEquals(0, event.getParamInt(1));
+        assertEquals(0L, event.getParamLong(3));
+    }
+
     // ----------------------------
     // EventResult results
     // ----------------------------
@@ -126,6 +154,19 @@ public class MethodParamsDataTest extends AbstractTest {
     }
 
 
+    @Test
+    public void resultParam_Primitives() {
+        EventResult result = EventResult.create()
+                .resultInt(1).result(PARAM).resultLong(2L).resultDouble(3.5d).build();
+
+        assertEquals(4, result.getResultsCount());
+        assertEquals(1, result.getResultInt(0));
+        assertEquals(PARAM, result.getResult(1));
+        assertEquals(2L, result.getResultLong(2));
+        assertEquals(3.5d, result.getResultDouble(3), 0d);
+        assertEquals(Long.valueOf(2L), result.getResult(2));
+    }
+
     // ----------------------------
     // Event tags
     // ----------------------------
@@ -278,6 +319,35 @@ public class MethodParamsDataTest extends AbstractTest {
     }
 
 
+    @Test
+    public void testEventDeepEquals_Primitives() {
+        assertDeeplyEqual(
+                new Builder().paramLong(2L).paramDouble(Double.NaN).build(),
+                new Builder().paramLong(2L).paramDouble(Double.NaN).build());
+
+        // Primitive values are equal to same boxed values
+        assertDeeplyEqual(
+                new Builder().paramInt(1).paramLong(2L).build(),
+                new Builder().param(1, 2L).build());
+
+        assertFalse(Event.isDeeplyEqual(
+                new Builder().paramLong(1L).build(),
+                new Builder().paramInt(1).build()
+        ));
+
+        assertFalse(Event.isDeeplyEqual(
+                new Builder().paramLong(1L).build(),
+                new Builder().paramLong(2L).build()
+        ));
+    }
+
+    private static void assertDeeplyEqual(Event event1, Event event2) {
+        assertTrue(Event.isDeeplyEqual(event1, event2));
+        assertTrue(Event.isDeeplyEqual(event2, event1));
+        assertEquals(Event.deepHashCode(event1), Event.deepHashCode(event2));
+    }
+
+
     private static class Builder extends Event.Builder {
         Builder() {
             this(TASK_KEY);
@@ -293,6 +363,24 @@ public class MethodParamsDataTest extends AbstractTest {
             return this;
         }
 
+        @Override
+        public Builder paramInt(int param) {
+            super.paramInt(param);
+            return this;
+        }
+
+        @Override
+        public Builder paramLong(long param) {
+            super.paramLong(param);
+            return this;
+        }
+
+        @Override
+        public Builder paramDouble(double param) {
+            super.paramDouble(param);
+            return this;
+        }
+
         @Override
         public Builder tag(Object... tags) {
             super.tag(tags);
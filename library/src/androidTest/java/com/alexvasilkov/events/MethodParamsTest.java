@@ -67,6 +67,23 @@ public class MethodParamsTest extends AbstractTest {
         counter.check(Subscribe.class);
     }
 
+    @Test
+    @UiThreadTest
+    public void can_Subscribe_Primitive_Params() {
+        post(new Object() {
+            @Subscribe(TASK_KEY)
+            private void subscribe(int param1, long param2, double param3, long widened) {
+                counter.count(Subscribe.class);
+                assertEquals(1, param1);
+                assertEquals(2L, param2);
+                assertEquals(3.5d, param3, 0d);
+                assertEquals(4L, widened);
+            }
+        }, Events.create(TASK_KEY).paramInt(1).paramLong(2L).paramDouble(3.5d).param(4));
+
+        counter.check(Subscribe.class);
+    }
+
     @Test
     @UiThreadTest
     public void can_Subscribe_Params() {
@@ -41,6 +41,8 @@ public class MiscellaneousTest extends AbstractTest {
         checkPrivate(Events.class);
         checkPrivate(EventsParams.class);
         checkPrivate(ListUtils.class);
+        checkPrivate(INTERNAL_PACKAGE + "EventKeys");
+        checkPrivate(INTERNAL_PACKAGE + "EventTypes");
         checkPrivate(INTERNAL_PACKAGE + "EventMethodsHelper");
         checkPrivate(INTERNAL_PACKAGE + "Utils");
     }
@@ -0,0 +1,139 @@
+package com.alexvasilkov.events;
+
+import android.support.test.annotation.UiThreadTest;
+import android.util.Log;
+
+import com.alexvasilkov.events.Events.Background;
+import com.alexvasilkov.events.Events.Result;
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.internal.EventsParams;
+import com.alexvasilkov.events.utils.Counter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Rough performance measurements, results are printed into logs.
+ */
+public class PerformanceTest extends AbstractTest {
+
+    private static final String TAG = PerformanceTest.class.getSimpleName();
+
+    private static final int TARGETS = 10000;
+    private static final int LATENCY_ITERATIONS = 100;
+    private static final long LATENCY_TIMEOUT = 1000L;
+
+    @Before
+    public void prepare() {
+        Events.setDebug(false); // Disabling logs for correct results
+        EventsParams.setMaxTimeInUiThread(Long.MAX_VALUE); // All tasks should be executed at once
+    }
+
+    @After
+    public void restore() {
+        Events.setDebug(true);
+        Events.setDispatchMode(DispatchMode.DELAYED);
+    }
+
+    @Test
+    @UiThreadTest
+    public void registerAndUnregisterManyTargets() {
+        Target[] targets = new Target[TARGETS];
+        for (int i = 0; i < TARGETS; i++) {
+            targets[i] = new Target();
+        }
+
+        long start = System.nanoTime();
+
+        for (Target target : targets) {
+            Events.register(target);
+        }
+
+        long registered = System.nanoTime();
+
+        Events.create(TASK_KEY).param(counter).post();
+
+        long posted = System.nanoTime();
+
+        for (Target target : targets) {
+            Events.unregister(target);
+        }
+
+        long unregistered = System.nanoTime();
+
+        Events.create(TASK_KEY).param(counter).post();
+
+        log("Registering " + TARGETS + " targets", registered - start);
+        log("Posting event to " + TARGETS + " targets", posted - registered);
+        log("Unregistering " + TARGETS + " targets", unregistered - posted);
+
+        Object[] order = new Object[TARGETS];
+        for (int i = 0; i < TARGETS; i++) {
+            order[i] = Subscribe.class;
+        }
+        counter.check(order);
+    }
+
+    @Test
+    public void backgroundResultLatency() throws InterruptedException {
+        Object callback = new Object() {
+            @Result(TASK_KEY)
+            private void result(CountDownLatch latch) {
+                latch.countDown();
+            }
+        };
+
+        try {
+            Events.register(BackgroundTarget.class);
+            Events.register(callback);
+
+            for (DispatchMode mode : DispatchMode.values()) {
+                Events.setDispatchMode(mode);
+
+                long total = 0L;
+                for (int i = 0; i < LATENCY_ITERATIONS; i++) {
+                    CountDownLatch latch = new CountDownLatch(1);
+                    long start = System.nanoTime();
+                    Events.create(TASK_KEY).param(latch).post();
+                    assertTrue(latch.await(LATENCY_TIMEOUT, TimeUnit.MILLISECONDS));
+                    total += System.nanoTime() - start;
+                }
+
+                log("Background result latency, " + mode + " mode",
+                        total / LATENCY_ITERATIONS);
+            }
+        } finally {
+            Events.unregister(callback);
+            Events.unregister(BackgroundTarget.class);
+        }
+    }
+
+
+    private static void log(String name, long time) {
+        Log.d(TAG, String.format(Locale.US, "%s in %.3f ms", name, time / 1e6d));
+    }
+
+
+    private static class Target {
+        @Subscribe(TASK_KEY)
+        private void subscribe(Counter counter) {
+            counter.count(Subscribe.class);
+        }
+    }
+
+    private static class BackgroundTarget {
+        @Background
+        @Subscribe(TASK_KEY)
+        private static CountDownLatch subscribe(CountDownLatch latch) {
+            return latch;
+        }
+    }
+
+}
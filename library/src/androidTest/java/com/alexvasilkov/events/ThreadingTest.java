@@ -2,6 +2,7 @@ package com.alexvasilkov.events;
 
 import android.os.Looper;
 import android.os.SystemClock;
+import android.support.annotation.NonNull;
 import android.support.test.annotation.UiThreadTest;
 
 import com.alexvasilkov.events.Events.Background;
@@ -12,18 +13,37 @@ import com.alexvasilkov.events.Events.Subscribe;
 import com.alexvasilkov.events.internal.EventsParams;
 import com.alexvasilkov.events.utils.Counter;
 
+import org.junit.Before;
 import org.junit.Test;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class ThreadingTest extends AbstractTest {
 
+    private static final String CUSTOM_POOL = "custom";
     private static final long THREAD_SLEEP = 30L;
     private static final long WAITING_TIME = 400L;
     private static final Object NOTIFIER = new Object();
 
+    @Before
+    public void resetTargets() {
+        // Background targets are registered by class, so their state is shared between tests
+        CollapseTarget.calls.set(0);
+        CollapseTarget.released = new CountDownLatch(1);
+    }
+
     // ----------------------------
     // Main thread callbacks
     // ----------------------------
@@ -141,6 +161,133 @@ public class ThreadingTest extends AbstractTest {
                 EventStatus.FINISHED);
     }
 
+    @Test
+    public void testCustomExecutor() {
+        final Executor defaultExecutor = EventsParams.getExecutor(Background.DEFAULT);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Events.setExecutor(new Executor() {
+                @Override
+                public void execute(@NonNull Runnable command) {
+                    counter.count(Executor.class);
+                    executor.execute(command);
+                }
+            });
+            assertNull(Events.getExecutorStats());
+
+            postAndWait(BackgroundThreadTarget.class, new Object() {
+                @Result(TASK_KEY)
+                private void result() {
+                    testNotify();
+                }
+            });
+        } finally {
+            Events.setExecutor(defaultExecutor);
+            executor.shutdown();
+        }
+        counter.check(Executor.class, Subscribe.class);
+        assertNotNull(Events.getExecutorStats());
+    }
+
+    @Test
+    public void testPoolExecutor() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Events.setExecutor(CUSTOM_POOL, new Executor() {
+                @Override
+                public void execute(@NonNull Runnable command) {
+                    counter.count(Executor.class);
+                    executor.execute(command);
+                }
+            });
+
+            postAndWait(CustomPoolTarget.class, new Object() {
+                @Result(TASK_KEY)
+                private void result() {
+                    testNotify();
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+        counter.check(Executor.class, Subscribe.class);
+        assertNull(Events.getExecutorStats(CUSTOM_POOL));
+    }
+
+    @Test
+    public void testIoPool() {
+        postAndWait(IoPoolTarget.class, new Object() {
+            @Result(TASK_KEY)
+            private void result(String threadName) {
+                assertTrue(threadName.startsWith("EventsIo-"));
+                testNotify();
+            }
+        });
+
+        counter.check(Subscribe.class);
+        assertEquals("EventsIo", Events.getExecutorStats(Background.IO).getName());
+    }
+
+    @Test
+    public void testKeyedSerial() {
+        KeyedSerialTarget.started = new CountDownLatch(1);
+        KeyedSerialTarget.released = new CountDownLatch(1);
+
+        postAndWait(KeyedSerialTarget.class, new Object() {
+            private int results;
+
+            @Result(TASK_KEY)
+            private void result() {
+                if (++results == 3) {
+                    testNotify();
+                }
+            }
+        }, new Runnable() {
+            @Override
+            public void run() {
+                // Second call with key "a" should wait for the first one, while call with key "b"
+                // should run in parallel and release the first call
+                Events.create(TASK_KEY).param("a", counter, 1, 3).post();
+                Events.create(TASK_KEY).param("a", counter, 4, 0).post();
+                Events.create(TASK_KEY).param("b", counter, 2, 0).post();
+            }
+        });
+
+        counter.check(1, 2, 3, 4);
+    }
+
+    @Test
+    public void testCollapse() {
+        final Event[] events = new Event[2];
+
+        postAndWait(CollapseTarget.class, new Object() {
+            private int results;
+
+            @Result(TASK_KEY)
+            private void result(Event event, String id) {
+                if ("a".equals(id)) {
+                    counter.count(event);
+                }
+                if (++results == 3) {
+                    testNotify();
+                }
+            }
+        }, new Runnable() {
+            @Override
+            public void run() {
+                // Second event with param "a" should be attached to the running first one,
+                // while event with param "b" should be executed separately
+                events[0] = Events.create(TASK_KEY).param(counter, "a").post();
+                events[1] = Events.create(TASK_KEY).param(counter, "a").post();
+                Events.create(TASK_KEY).param(counter, "b").post();
+                CollapseTarget.released.countDown();
+            }
+        });
+
+        assertEquals(2, CollapseTarget.calls.get());
+        counter.check(events[0], events[1]);
+    }
+
     @Test
     public void testSingleThread() {
         postAndWait(SingleThreadTarget.class, new Object() {
@@ -162,6 +309,33 @@ public class ThreadingTest extends AbstractTest {
         counter.check(1, 2, 3, 4, 5, 6);
     }
 
+    @Test
+    public void testSingleThreadQueueOrder() {
+        final int count = 10;
+
+        postAndWait(SingleThreadFastTarget.class, new Object() {
+            @Result(TASK_KEY)
+            private void result(int end) {
+                if (end == 2 * count) {
+                    testNotify();
+                }
+            }
+        }, new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < count; i++) {
+                    Events.create(TASK_KEY).param(counter, 2 * i + 1, 2 * i + 2).post();
+                }
+            }
+        });
+
+        Object[] order = new Object[2 * count];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i + 1;
+        }
+        counter.check(order);
+    }
+
 
     // ----------------------------
     // Other tests
@@ -196,6 +370,38 @@ public class ThreadingTest extends AbstractTest {
         counter.check(EventStatus.STARTED);
     }
 
+    @Test
+    @UiThreadTest
+    public void delayedExecutionShouldBeScheduledOnce() {
+        final long delay = 10L;
+        EventsParams.setMaxTimeInUiThread(delay);
+
+        long skippedBefore = Events.getSkippedExecutesCount();
+
+        Object target = new Object() {
+            @Status(TASK_KEY)
+            private void status(EventStatus status) {
+                SystemClock.sleep(delay + 1L);
+            }
+
+            @Subscribe(TASK_KEY)
+            private void subscribe() {}
+        };
+
+        try {
+            Events.register(target);
+            // Each post will exceed time limit and will request delayed execution
+            Events.post(TASK_KEY);
+            Events.post(TASK_KEY);
+            Events.post(TASK_KEY);
+        } finally {
+            Events.unregister(target);
+        }
+
+        // Only first delayed execution request should be sent, next 2 requests are skipped
+        assertEquals(2L, Events.getSkippedExecutesCount() - skippedBefore);
+    }
+
 
     // ----------------------------
     // Helper classes and methods
@@ -277,6 +483,62 @@ public class ThreadingTest extends AbstractTest {
         }
     }
 
+    private static class CustomPoolTarget {
+        @Background(pool = CUSTOM_POOL)
+        @Subscribe(TASK_KEY)
+        private static void subscribe(Counter counter) {
+            assertBackgroundThread();
+            counter.count(Subscribe.class);
+        }
+    }
+
+    private static class IoPoolTarget {
+        @Background(pool = Background.IO)
+        @Subscribe(TASK_KEY)
+        private static String subscribe(Counter counter) {
+            counter.count(Subscribe.class);
+            return Thread.currentThread().getName();
+        }
+    }
+
+    private static class KeyedSerialTarget {
+        static CountDownLatch started;
+        static CountDownLatch released;
+
+        @Background(keyedSerial = true)
+        @Subscribe(TASK_KEY)
+        private static Object subscribe(String key, Counter counter, int first, int second)
+                throws InterruptedException {
+            if ("b".equals(key)) {
+                started.await(WAITING_TIME, TimeUnit.MILLISECONDS);
+                counter.count(first);
+                released.countDown();
+            } else {
+                counter.count(first);
+                if (second != 0) {
+                    started.countDown();
+                    released.await(WAITING_TIME, TimeUnit.MILLISECONDS);
+                    counter.count(second);
+                }
+            }
+            return RESULT;
+        }
+    }
+
+    private static class CollapseTarget {
+        static final AtomicInteger calls = new AtomicInteger();
+        static CountDownLatch released;
+
+        @Background
+        @Subscribe(value = TASK_KEY, collapse = true)
+        private static String subscribe(Counter counter, String id) throws InterruptedException {
+            calls.incrementAndGet();
+            released.await(WAITING_TIME, TimeUnit.MILLISECONDS);
+            SystemClock.sleep(THREAD_SLEEP);
+            return id;
+        }
+    }
+
     private static class SingleThreadTarget {
         @Background(singleThread = true)
         @Subscribe(TASK_KEY)
@@ -289,4 +551,15 @@ public class ThreadingTest extends AbstractTest {
         }
     }
 
+    private static class SingleThreadFastTarget {
+        @Background(singleThread = true)
+        @Subscribe(TASK_KEY)
+        private static int subscribe(Counter counter, int start, int end) {
+            assertBackgroundThread();
+            counter.count(start);
+            counter.count(end);
+            return end;
+        }
+    }
+
 }
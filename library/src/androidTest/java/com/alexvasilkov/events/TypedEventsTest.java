@@ -0,0 +1,165 @@
+package com.alexvasilkov.events;
+
+import android.support.test.annotation.UiThreadTest;
+
+import com.alexvasilkov.events.Events.Subscribe;
+
+import org.junit.Test;
+
+public class TypedEventsTest extends AbstractTest {
+
+    @Test
+    @UiThreadTest
+    public void canPostTyped() {
+        Object target = new Object() {
+            @Subscribe
+            private void typed(Loaded loaded) {
+                counter.count(loaded);
+            }
+        };
+
+        Loaded loaded = new Loaded();
+        postTyped(target, loaded);
+        counter.check(loaded);
+    }
+
+    @Test
+    @UiThreadTest
+    public void canPostTypedWithEvent() {
+        Object target = new Object() {
+            @Subscribe
+            private void typed(Event event, Loaded loaded) {
+                counter.count(event.getParam(0));
+                counter.count(loaded);
+            }
+        };
+
+        Loaded loaded = new Loaded();
+        postTyped(target, loaded);
+        counter.check(loaded, loaded);
+    }
+
+    @Test
+    @UiThreadTest
+    public void canPostToSuperTypes() {
+        Object target = new Object() {
+            @Subscribe
+            private void exact(LoadedChild loaded) {
+                counter.count(LoadedChild.class);
+            }
+
+            @Subscribe
+            private void parent(Loaded loaded) {
+                counter.count(Loaded.class);
+            }
+
+            @Subscribe
+            private void iface(Marker marker) {
+                counter.count(Marker.class);
+            }
+
+            @Subscribe
+            private void unrelated(Runnable runnable) {
+                counter.count(Runnable.class);
+            }
+        };
+
+        // Most specific types come first
+        postTyped(target, new LoadedChild());
+        counter.check(LoadedChild.class, Loaded.class, Marker.class);
+    }
+
+    @Test
+    @UiThreadTest
+    public void typedEventsAreNotMixedWithKeys() {
+        Object target = new Object() {
+            @Subscribe
+            private void typed(String str) {
+                counter.count(String.class);
+            }
+
+            @Subscribe(TASK_KEY)
+            private void keyed() {
+                counter.count(TASK_KEY);
+            }
+        };
+
+        // Strings are always posted as event keys
+        post(target);
+        counter.check(TASK_KEY);
+    }
+
+    @Test
+    @UiThreadTest
+    public void stringObjectsArePostedAsKeys() {
+        Object target = new Object() {
+            @Subscribe
+            private void typed(String str) {
+                counter.count(String.class);
+            }
+
+            @Subscribe(TASK_KEY)
+            private void keyed() {
+                counter.count(TASK_KEY);
+            }
+        };
+
+        // String passed as an object should not go through class-keyed path
+        Object key = TASK_KEY;
+        postTyped(target, key);
+        counter.check(TASK_KEY);
+    }
+
+    @Test
+    @UiThreadTest
+    public void emptyKeyIsNotTyped() {
+        Object target = new Object() {
+            @Subscribe("")
+            private void emptyKey(Loaded loaded) {
+                counter.count(loaded);
+            }
+        };
+
+        // Empty key is a regular event key, subscriber should not receive class-keyed events
+        Loaded loaded = new Loaded();
+        postTyped(target, new Loaded());
+        post(target, Events.create("").param(loaded));
+        counter.check(loaded);
+    }
+
+    @Test(expected = EventsException.class)
+    @UiThreadTest
+    public void cannotSubscribeWithoutType() {
+        Events.register(new Object() {
+            @Subscribe
+            private void typed() {}
+        });
+    }
+
+    @Test(expected = EventsException.class)
+    @UiThreadTest
+    public void cannotSubscribeToPrimitive() {
+        Events.register(new Object() {
+            @Subscribe
+            private void typed(int value) {}
+        });
+    }
+
+
+    private void postTyped(Object target, Object event) {
+        try {
+            Events.register(target);
+            Events.post(event);
+        } finally {
+            Events.unregister(target);
+        }
+    }
+
+
+    private interface Marker {}
+
+    private static class Loaded {}
+
+    private static class LoadedChild extends Loaded implements Marker {}
+
+}
@@ -0,0 +1,132 @@
+package com.alexvasilkov.events;
+
+import android.support.test.annotation.UiThreadTest;
+
+import com.alexvasilkov.events.Events.Failure;
+import com.alexvasilkov.events.Events.Result;
+import com.alexvasilkov.events.Events.Status;
+import com.alexvasilkov.events.Events.Subscribe;
+
+import org.junit.Test;
+
+import static org.junit.Assert.fail;
+
+public class WildcardEventsTest extends AbstractTest {
+
+    private static final String REPO_KEY = "data.repo.list";
+
+    @Test
+    @UiThreadTest
+    public void canSubscribeToPrefix() {
+        Object target = new Object() {
+            @Subscribe(REPO_KEY)
+            private void exact() {
+                counter.count(REPO_KEY);
+            }
+
+            @Subscribe("data.repo.*")
+            private void repo(Event event) {
+                counter.count("data.repo.*");
+            }
+
+            @Subscribe("data.*")
+            private void data(Event event) {
+                counter.count("data.*");
+            }
+
+            @Subscribe("*")
+            private void all(Event event) {
+                counter.count("*");
+            }
+
+            @Subscribe("data.other.*")
+            private void other() {
+                counter.count("data.other.*");
+            }
+        };
+
+        // Exact subscribers come first, then from the least to the most specific wildcards
+        post(target, Events.create(REPO_KEY));
+        counter.check(REPO_KEY, "*", "data.*", "data.repo.*");
+    }
+
+    @Test
+    @UiThreadTest
+    public void wildcardRequiresMoreSegments() {
+        Object target = new Object() {
+            @Subscribe("data.repo.*")
+            private void repo() {
+                counter.count("data.repo.*");
+            }
+
+            @Subscribe("data.*")
+            private void data() {
+                counter.count("data.*");
+            }
+        };
+
+        post(target, Events.create("data.repo"));
+        post(target, Events.create("database.repo"));
+        counter.check("data.*");
+    }
+
+    @Test
+    @UiThreadTest
+    public void canObserveEventsFlow() {
+        post(new Object() {
+            @Status("data.*")
+            private void status(EventStatus status) {
+                counter.count(status);
+            }
+
+            @Subscribe(REPO_KEY)
+            private Object subscribe() {
+                counter.count(Subscribe.class);
+                throw ERROR;
+            }
+
+            @Result("data.*")
+            private void result() {
+                fail("Result should not be called");
+            }
+
+            @Failure("data.repo.*")
+            private void failure(Throwable error) {
+                counter.count(error);
+            }
+        }, Events.create(REPO_KEY));
+
+        counter.check(EventStatus.STARTED, Subscribe.class, ERROR, EventStatus.FINISHED);
+    }
+
+    @Test
+    @UiThreadTest
+    public void typedEventsAreNotMatched() {
+        Object target = new Object() {
+            @Subscribe
+            private void typed(Object event) {
+                counter.count(Object.class);
+            }
+
+            @Subscribe("*")
+            private void all() {
+                counter.count("*");
+            }
+        };
+
+        try {
+            Events.register(target);
+            Events.post(new Object());
+        } finally {
+            Events.unregister(target);
+        }
+        counter.check(Object.class);
+    }
+
+    @Test(expected = EventsException.class)
+    @UiThreadTest
+    public void cannotPostWildcard() {
+        Events.post("data.*");
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.alexvasilkov.events;
+
+/**
+ * Controls how events, results, failures and finished callbacks sent from background threads
+ * are delivered to main thread. Calls made on main thread are always handled immediately.
+ * <p/>
+ * See {@link Events#setDispatchMode(DispatchMode)}.
+ */
+public enum DispatchMode {
+
+    /**
+     * Message is added to the end of main thread's queue without any delay.
+     */
+    IMMEDIATE,
+
+    /**
+     * Same as {@link #IMMEDIATE} but message is marked as asynchronous, so it will not wait for
+     * next frame rendering to start. Falls back to {@link #IMMEDIATE} before Android 5.1.
+     */
+    ASYNC,
+
+    /**
+     * Message is delivered with a delay, see {@link Events#setDispatchDelay(long)}.
+     * Delay allows grouping several messages from background threads together.
+     * This is the default mode.
+     */
+    DELAYED
+
+}
@@ -1,38 +1,79 @@
 package com.alexvasilkov.events;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.alexvasilkov.events.internal.Dispatcher;
 import com.alexvasilkov.events.internal.EventBase;
+import com.alexvasilkov.events.internal.EventKeys;
+import com.alexvasilkov.events.internal.EventTypes;
 import com.alexvasilkov.events.internal.EventsParams;
 
 import java.util.Arrays;
-import java.util.List;
 
 public class Event extends EventBase {
 
     private final Dispatcher dispatcher;
     private final String key;
     private final Object[] params;
+    // Primitive params values, see ListUtils.Primitive
+    private final long[] paramsBits;
     private final Object[] tags;
+    private final Priority priority;
 
     Event(Builder builder) {
+        super(builder.keyId, builder.hierarchy);
         this.dispatcher = builder.dispatcher;
         this.key = builder.key;
-        this.params = ListUtils.toArray(builder.params);
-        this.tags = ListUtils.toArray(builder.tags);
+        // Builder's arrays are right-sized and never modified after that, no need to copy them
+        this.params = builder.params;
+        this.paramsBits = builder.paramsBits;
+        this.tags = builder.tags;
+        this.priority = builder.priority;
     }
 
     public String getKey() {
         return key;
     }
 
+    /**
+     * Returns priority requested by event's sender, see {@link Builder#priority(Priority)}.
+     * Returns {@code null} if priority was not set explicitly.
+     */
+    @Nullable
+    public Priority getPriority() {
+        return priority;
+    }
+
     /**
      * Returns value at {@code index} position and implicitly casts it to {@code T}.
      * Returns {@code null} if there is no value for specified {@code index}.
      */
     public <T> T getParam(int index) {
-        return ListUtils.get(params, index);
+        return ListUtils.get(params, paramsBits, index);
+    }
+
+    /**
+     * Returns primitive value at {@code index} position, without boxing if it was added with
+     * {@link Builder#paramInt(int)}. Other numeric values are converted, {@code 0} is returned
+     * if there is no numeric value for specified {@code index}.
+     */
+    public int getParamInt(int index) {
+        return ListUtils.getInt(params, paramsBits, index);
+    }
+
+    /**
+     * See {@link #getParamInt(int)}.
+     */
+    public long getParamLong(int index) {
+        return ListUtils.getLong(params, paramsBits, index);
+    }
+
+    /**
+     * See {@link #getParamInt(int)}.
+     */
+    public double getParamDouble(int index) {
+        return ListUtils.getDouble(params, paramsBits, index);
     }
 
     public int getParamsCount() {
@@ -76,12 +117,32 @@ public class Event extends EventBase {
      * parameters lists.</p>
      * <p>Parameters are compared using {@link Arrays#deepEquals(Object[], Object[])}, so be sure
      * to have correct implementation of {@link Object#equals(Object)} method for all parameters.
+     * Primitive parameters are compared without boxing and are equal to same boxed values.
      * </p>
      * <p>If you don't want some of parameters to be compared pass them as tags using
      * {@link Builder#tag(Object...)} builder method.</p>
      */
     public static boolean isDeeplyEqual(@NonNull Event e1, @NonNull Event e2) {
-        return e1 == e2 || (e1.key.equals(e2.key) && Arrays.deepEquals(e1.params, e2.params));
+        return e1 == e2 || (e1.key.equals(e2.key)
+                && ListUtils.deepEquals(e1.params, e1.paramsBits, e2.params, e2.paramsBits));
+    }
+
+    /**
+     * Returns hash code of event's key and parameters, consistent with
+     * {@link #isDeeplyEqual(Event, Event)}.
+     */
+    public static int deepHashCode(@NonNull Event event) {
+        return 31 * event.key.hashCode() + ListUtils.deepHashCode(event.params, event.paramsBits);
+    }
+
+    /**
+     * Returns key which is equal to keys of other events only if events are deeply equal,
+     * see {@link #isDeeplyEqual(Event, Event)}. Returned key only holds event's key and
+     * parameters, so it can be stored for a long time without keeping event's tags.
+     */
+    @NonNull
+    public static Object toDeepKey(@NonNull Event event) {
+        return new DeepKey(event);
     }
 
 
@@ -89,19 +150,44 @@ public class Event extends EventBase {
 
         private final Dispatcher dispatcher;
         private final String key;
-        private List<Object> params;
-        private List<Object> tags;
+        private final int keyId;
+        private final int[] hierarchy;
+        private Object[] params;
+        private long[] paramsBits;
+        private Object[] tags;
+        private Priority priority;
 
         private boolean isPosted;
 
         Builder(Dispatcher dispatcher, @NonNull String key) {
-            if (EventsParams.EMPTY_KEY.equals(key)) {
+            if (EventsParams.EMPTY_KEY.equals(key) || EventTypes.isTypeKey(key)) {
                 throw new EventsException("Event key \"" + key
                         + "\" is reserved and cannot be used");
             }
+            if (EventKeys.isWildcard(key)) {
+                throw new EventsException("Event key \"" + key
+                        + "\" is a wildcard pattern and cannot be posted");
+            }
 
             this.dispatcher = dispatcher;
             this.key = key;
+            this.keyId = EventKeys.intern(key);
+            this.hierarchy = null;
+        }
+
+        // Class-keyed event, given object is passed as the only event's parameter
+        Builder(Dispatcher dispatcher, @NonNull Object event) {
+            if (event instanceof String) {
+                throw new EventsException("Strings can only be posted as event keys");
+            }
+
+            EventTypes.EventType type = EventTypes.get(event.getClass());
+
+            this.dispatcher = dispatcher;
+            this.key = type.key;
+            this.keyId = type.keyId;
+            this.hierarchy = type.hierarchy;
+            this.params = new Object[] { event };
         }
 
         /**
@@ -114,6 +200,36 @@ public class Event extends EventBase {
             return this;
         }
 
+        /**
+         * <p>Appends primitive parameter, which is stored without boxing. It can be accessed by
+         * {@link Event#getParamInt(int)} method without boxing or as method's parameter of
+         * corresponding subscribed methods, same as other parameters. Note, that in the latter
+         * case the value is boxed, since methods are invoked with an array of objects.</p>
+         */
+        public Builder paramInt(int param) {
+            return appendPrimitive(ListUtils.Primitive.INT, param);
+        }
+
+        /**
+         * <p>See {@link #paramInt(int)}.</p>
+         */
+        public Builder paramLong(long param) {
+            return appendPrimitive(ListUtils.Primitive.LONG, param);
+        }
+
+        /**
+         * <p>See {@link #paramInt(int)}.</p>
+         */
+        public Builder paramDouble(double param) {
+            return appendPrimitive(ListUtils.Primitive.DOUBLE, Double.doubleToLongBits(param));
+        }
+
+        private Builder appendPrimitive(ListUtils.Primitive type, long bits) {
+            params = ListUtils.appendPrimitive(params, type);
+            paramsBits = ListUtils.setBits(paramsBits, params.length - 1, bits);
+            return this;
+        }
+
         /**
          * <p>Appends additional (dynamic) event's parameters. These values can be accessed only by
          * {@link Event#getTag(int)} method.</p>
@@ -124,17 +240,65 @@ public class Event extends EventBase {
             return this;
         }
 
+        /**
+         * <p>Sets event's dispatching priority. If not set, the highest priority of event's
+         * subscribers is used, see {@link Events.Subscribe#priority()}.</p>
+         * <p>See {@link Priority}.</p>
+         */
+        public Builder priority(@NonNull Priority priority) {
+            if (priority == null) {
+                throw new NullPointerException("Priority cannot be null");
+            }
+            this.priority = priority;
+            return this;
+        }
+
         public Event post() {
+            Event event = build();
+            dispatcher.postEvent(event);
+            return event;
+        }
+
+        // Builds event and marks this builder as posted
+        Event build() {
             if (isPosted) {
                 throw new EventsException("Event " + key + " | Already posted");
             } else {
                 isPosted = true;
-                Event event = new Event(this);
-                dispatcher.postEvent(event);
-                return event;
+                return new Event(this);
+            }
+        }
+
+    }
+
+    // Copies event's parameters to not depend on event itself
+    private static class DeepKey {
+        private final int keyId;
+        private final Object[] params;
+        private final long[] paramsBits;
+        private final int hash;
+
+        DeepKey(Event event) {
+            keyId = EventKeys.intern(event.key);
+            params = event.params == null ? null : event.params.clone();
+            paramsBits = event.paramsBits == null ? null : event.paramsBits.clone();
+            hash = deepHashCode(event);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof DeepKey)) {
+                return false;
             }
+            DeepKey other = (DeepKey) obj;
+            return hash == other.hash && keyId == other.keyId
+                    && ListUtils.deepEquals(params, paramsBits, other.params, other.paramsBits);
         }
 
+        @Override
+        public int hashCode() {
+            return hash;
+        }
     }
 
 }
@@ -1,16 +1,17 @@
 package com.alexvasilkov.events;
 
-import java.util.List;
-
 public class EventResult {
 
-    public static final EventResult EMPTY = new EventResult(null, null);
+    public static final EventResult EMPTY = new EventResult(null, null, null);
 
     private final Object[] results;
+    // Primitive results values, see ListUtils.Primitive
+    private final long[] resultsBits;
     private final Object[] tags;
 
-    EventResult(Object[] results, Object[] tags) {
+    EventResult(Object[] results, long[] resultsBits, Object[] tags) {
         this.results = results;
+        this.resultsBits = resultsBits;
         this.tags = tags;
     }
 
@@ -19,7 +20,30 @@ public class EventResult {
      * Returns {@code null} if there is no value for specified {@code index}.
      */
     public <T> T getResult(int index) {
-        return ListUtils.get(results, index);
+        return ListUtils.get(results, resultsBits, index);
+    }
+
+    /**
+     * Returns primitive value at {@code index} position, without boxing if it was added with
+     * {@link Builder#resultInt(int)}. Other numeric values are converted, {@code 0} is returned
+     * if there is no numeric value for specified {@code index}.
+     */
+    public int getResultInt(int index) {
+        return ListUtils.getInt(results, resultsBits, index);
+    }
+
+    /**
+     * See {@link #getResultInt(int)}.
+     */
+    public long getResultLong(int index) {
+        return ListUtils.getLong(results, resultsBits, index);
+    }
+
+    /**
+     * See {@link #getResultInt(int)}.
+     */
+    public double getResultDouble(int index) {
+        return ListUtils.getDouble(results, resultsBits, index);
     }
 
     public int getResultsCount() {
@@ -46,8 +70,9 @@ public class EventResult {
 
     public static class Builder {
 
-        private List<Object> results;
-        private List<Object> tags;
+        private Object[] results;
+        private long[] resultsBits;
+        private Object[] tags;
 
         Builder() {
             // Hidden constructor
@@ -58,13 +83,40 @@ public class EventResult {
             return this;
         }
 
+        /**
+         * Appends primitive result, which is stored without boxing.
+         */
+        public Builder resultInt(int result) {
+            return appendPrimitive(ListUtils.Primitive.INT, result);
+        }
+
+        /**
+         * See {@link #resultInt(int)}.
+         */
+        public Builder resultLong(long result) {
+            return appendPrimitive(ListUtils.Primitive.LONG, result);
+        }
+
+        /**
+         * See {@link #resultInt(int)}.
+         */
+        public Builder resultDouble(double result) {
+            return appendPrimitive(ListUtils.Primitive.DOUBLE, Double.doubleToLongBits(result));
+        }
+
+        private Builder appendPrimitive(ListUtils.Primitive type, long bits) {
+            results = ListUtils.appendPrimitive(results, type);
+            resultsBits = ListUtils.setBits(resultsBits, results.length - 1, bits);
+            return this;
+        }
+
         public Builder tag(Object... tags) {
             this.tags = ListUtils.append(this.tags, tags);
             return this;
         }
 
         public EventResult build() {
-            return new EventResult(ListUtils.toArray(results), ListUtils.toArray(tags));
+            return new EventResult(results, resultsBits, tags);
         }
 
     }
@@ -2,16 +2,26 @@ package com.alexvasilkov.events;
 
 import android.content.Context;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.alexvasilkov.events.cache.CacheProvider;
 import com.alexvasilkov.events.cache.MemoryCache;
+import com.alexvasilkov.events.executor.PoolExecutor;
+import com.alexvasilkov.events.executor.PoolStats;
+import com.alexvasilkov.events.executor.VirtualThreadExecutor;
+import com.alexvasilkov.events.index.EventsIndex;
+import com.alexvasilkov.events.index.InvokerFactory;
 import com.alexvasilkov.events.internal.Dispatcher;
 import com.alexvasilkov.events.internal.EventsParams;
+import com.alexvasilkov.events.internal.MethodsSnapshot;
+import com.alexvasilkov.events.loop.EventsLoop;
 
+import java.io.File;
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.concurrent.Executor;
 
 /**
  * Entry point to event bus registration and posting.
@@ -24,7 +34,7 @@ import java.lang.annotation.Target;
  * callbacks use corresponding methods.
  * <p/>
  * To post events into event bus use either {@link #post(String)} or {@link #create(String)}
- * methods.
+ * methods. Many events can be posted at once using {@link #batch()}.
  */
 public class Events {
 
@@ -47,6 +57,148 @@ public class Events {
         EventsParams.setDebug(isDebug);
     }
 
+    /**
+     * Sets how events and callbacks sent from background threads are delivered to main thread.
+     * Default is {@link DispatchMode#DELAYED}.
+     */
+    public static void setDispatchMode(@NonNull DispatchMode mode) {
+        EventsParams.setDispatchMode(mode);
+    }
+
+    /**
+     * Sets delay in milliseconds used in {@link DispatchMode#DELAYED} mode. Default is 10 ms.
+     */
+    public static void setDispatchDelay(long delay) {
+        EventsParams.setDispatchDelay(delay);
+    }
+
+
+    /**
+     * Sets loop which will be used to dispatch all events and callbacks. Should be called before
+     * any other event bus usage. By default main thread's {@code Looper} is used on Android.
+     * <p/>
+     * See {@link com.alexvasilkov.events.loop.JvmLoop} to run event bus on plain JVM.
+     */
+    public static void setLoop(@NonNull EventsLoop loop) {
+        EventsParams.setLoop(loop);
+    }
+
+    /**
+     * Adds index of annotated methods generated at compile time. Should be called before
+     * registering any subscribers from this index. Classes which are not found in any index will
+     * be scanned using reflection.
+     * <p/>
+     * See {@link EventsIndex}.
+     */
+    public static void addIndex(@NonNull EventsIndex index) {
+        EventsParams.addIndex(index);
+    }
+
+    /**
+     * Sets whether methods without generated invoker (see {@link EventsIndex}) can be called
+     * using reflection. Enabled by default. If disabled, calling such methods will throw
+     * {@link EventsException}, which can be used to check that all methods are indexed.
+     */
+    public static void setReflectionFallbackEnabled(boolean enabled) {
+        EventsParams.setReflectionFallbackEnabled(enabled);
+    }
+
+    /**
+     * Sets factory used to create invokers for methods without generated invoker (see
+     * {@link EventsIndex}). Should be called before registering any subscribers.
+     * Pass {@code null} to always use reflection.
+     * <p/>
+     * On plain JVM method handles based factory from 'events-jvm' module is used by default,
+     * if available.
+     */
+    public static void setInvokerFactory(@Nullable InvokerFactory factory) {
+        EventsParams.setInvokerFactory(factory);
+    }
+
+    /**
+     * Sets executor used to run {@link Background} subscribers of {@link Background#DEFAULT}
+     * pool, i.e. to share thread pool with the rest of the app.
+     * See {@link #setExecutor(String, Executor)}.
+     */
+    public static void setExecutor(@NonNull Executor executor) {
+        EventsParams.setExecutor(Background.DEFAULT, executor);
+    }
+
+    /**
+     * Sets executor used to run {@link Background} subscribers of given pool, see
+     * {@link Background#pool()}. Should be called before any events are posted.
+     * <p/>
+     * By default each pool is run by its own {@link PoolExecutor}: {@link Background#DEFAULT},
+     * {@link Background#IO} and {@link Background#COMPUTE} pools are sized according to the
+     * number of CPU cores, other pools use the same size as default pool.
+     */
+    public static void setExecutor(@NonNull String pool, @NonNull Executor executor) {
+        EventsParams.setExecutor(pool, executor);
+    }
+
+    /**
+     * Returns usage statistics of {@link Background#DEFAULT} pool,
+     * see {@link #getExecutorStats(String)}.
+     */
+    @Nullable
+    public static PoolStats getExecutorStats() {
+        return getExecutorStats(Background.DEFAULT);
+    }
+
+    /**
+     * Returns usage statistics (threads count, queue depth, utilization) of given pool or
+     * {@code null} if custom executor which is not a {@link PoolExecutor} is used.
+     */
+    @Nullable
+    public static PoolStats getExecutorStats(@NonNull String pool) {
+        Executor executor = EventsParams.getExecutor(pool);
+        return executor instanceof PoolExecutor ? ((PoolExecutor) executor).getStats() : null;
+    }
+
+    /**
+     * Sets whether internal tasks and methods arguments arrays should be recycled and reused
+     * instead of being allocated for each method invocation. Reduces garbage produced by frequent
+     * events. Disabled by default.
+     */
+    public static void setPoolingEnabled(boolean enabled) {
+        EventsParams.setPoolingEnabled(enabled);
+    }
+
+    /**
+     * Loads annotated methods metadata stored by {@link #saveSnapshot()} during previous launches,
+     * so that first registration of known classes will skip annotations look up.
+     * Stored metadata is ignored if it was saved for another app version.
+     * Should be called before registering any subscribers, i.e. in {@code Application.onCreate()}.
+     * <p/>
+     * Only classes which are not found in generated indexes (see {@link EventsIndex}) are stored.
+     *
+     * @param file File to read snapshot from and to save it to
+     * @param appVersion Current app version, i.e. {@code BuildConfig.VERSION_CODE}
+     */
+    public static void loadSnapshot(@NonNull File file, @NonNull String appVersion) {
+        EventsParams.setSnapshot(MethodsSnapshot.load(file, appVersion));
+    }
+
+    /**
+     * Saves metadata of all classes registered so far into the file passed to
+     * {@link #loadSnapshot(File, String)}, if there are any new classes. Does disk IO, so it should
+     * be called from background thread once main screens are registered.
+     */
+    public static void saveSnapshot() {
+        MethodsSnapshot snapshot = EventsParams.getSnapshot();
+        if (snapshot != null) {
+            snapshot.save();
+        }
+    }
+
+    /**
+     * Returns number of tasks execution requests which were skipped because another execution
+     * was already scheduled on main thread. Can be used to monitor main thread's queue load.
+     */
+    public static long getSkippedExecutesCount() {
+        return dispatcher.getSkippedExecutesCount();
+    }
+
 
     /**
      * Registers target within event bus.
@@ -58,6 +210,18 @@ public class Events {
         dispatcher.register(target);
     }
 
+    /**
+     * Collects and validates annotated methods of given classes on background thread, so that
+     * first {@link #register(Object) registration} of these classes will be cheaper.
+     * Can be called during application start up for subscribers which will be registered soon,
+     * i.e. for activities.
+     * <p/>
+     * Errors found during preloading are only logged, they will be thrown again on registration.
+     */
+    public static void preload(@NonNull Class<?>... classes) {
+        dispatcher.preload(classes.clone());
+    }
+
     /**
      * Unregisters target from event bus.
      *
@@ -81,6 +245,29 @@ public class Events {
         return new Event.Builder(dispatcher, eventKey).post();
     }
 
+    /**
+     * Creates and posts class-keyed event. Given object will be delivered to all methods marked
+     * with {@link Subscribe} annotation without event key, which have parameter of the same type,
+     * of any of its super classes or of any of its interfaces.
+     * <p/>
+     * Note, that strings are always treated as event keys, see {@link #post(String)}.
+     */
+    public static Event post(@NonNull Object event) {
+        // String can be passed as an object as well, it should still be posted as event key
+        if (event instanceof String) {
+            return post((String) event);
+        }
+        return new Event.Builder(dispatcher, event).post();
+    }
+
+    /**
+     * Creates empty events batch. Events added to the batch will be posted all at once, see
+     * {@link EventsBatch}.
+     */
+    public static EventsBatch batch() {
+        return new EventsBatch(dispatcher);
+    }
+
 
     /**
      * <p>Method marked with this annotation will receive events with specified key on main thread.
@@ -106,11 +293,32 @@ public class Events {
      * Where {@code T1, T2, ...} - corresponding types of values passed to
      * {@link Event.Builder#param(Object...)} method. You may also access event's parameters
      * using {@link Event#getParam(int)} method.</p>
+     * <p><b>Class-keyed events</b><br>
+     * If no event key is specified then method will receive objects of its parameter's type
+     * (including subclasses and implementations) posted with {@link Events#post(Object)}.
+     * Allowed method parameters are <code>method(T)</code> and
+     * <code>method({@link Event}, T)</code>.</p>
+     * <p><b>Priority</b><br>
+     * Event is dispatched with the highest {@link #priority()} of its subscribers, unless the
+     * priority was explicitly set by sender, see {@link Event.Builder#priority(Priority)}.
+     * Status, result and failure callbacks of the event are dispatched with the same priority.
+     * </p>
+     * <p><b>Collapsing</b><br>
+     * If {@link #collapse()} set to {@code true} then event posted while deeply equal event
+     * (same key and parameters, see {@link Event#isDeeplyEqual(Event, Event)}) is still running
+     * and did not send any results or failures yet will not be executed again. Instead it will
+     * receive all result and failure callbacks of the running event, along with its own status
+     * callbacks. Event is only collapsed if all its subscribers have {@link #collapse()} set to
+     * {@code true}.</p>
      */
     @Target({ ElementType.METHOD })
     @Retention(RetentionPolicy.RUNTIME)
     public @interface Subscribe {
-        String value();
+        String value() default EventsParams.EMPTY_KEY;
+
+        Priority priority() default Priority.NORMAL;
+
+        boolean collapse() default false;
     }
 
     /**
@@ -119,6 +327,12 @@ public class Events {
      * <p>If {@link #singleThread()} set to {@code true} then only one thread will be used to
      * execute this method. All other events targeting this method will wait until it is finished.
      * </p>
+     * <p>If {@link #keyedSerial()} set to {@code true} then events with equal first parameter
+     * (i.e. same entity id) will be executed one by one in posting order, while events with
+     * different first parameters are executed in parallel.</p>
+     * <p>{@link #pool()} selects executor which will run this method: {@link #IO} for blocking
+     * network or disk operations, {@link #COMPUTE} for CPU-bound work or any custom pool name,
+     * see {@link Events#setExecutor(String, Executor)}.</p>
      * <p><b>Note</b>: method executed in background should be static to not leek object reference
      * (i.e. Activity reference). To subscribe static methods use {@link Events#register(Object)}
      * method with {@link Class} object.</p>
@@ -126,7 +340,30 @@ public class Events {
     @Target({ ElementType.METHOD })
     @Retention(RetentionPolicy.RUNTIME)
     public @interface Background {
+        /**
+         * General purpose pool, see {@link PoolExecutor#createDefault()}.
+         */
+        String DEFAULT = "default";
+        /**
+         * Pool for blocking IO operations, see {@link PoolExecutor#createIo()}.
+         */
+        String IO = "io";
+        /**
+         * Pool for CPU-bound operations, see {@link PoolExecutor#createCompute()}.
+         */
+        String COMPUTE = "compute";
+        /**
+         * Pool which runs each task in its own virtual thread, for many concurrent blocking
+         * operations. Only available on JVM 21+, {@link #IO} pool is used instead if virtual
+         * threads are not supported. See {@link VirtualThreadExecutor}.
+         */
+        String VIRTUAL = "virtual";
+
         boolean singleThread() default false;
+
+        boolean keyedSerial() default false;
+
+        String pool() default DEFAULT;
     }
 
     /**
@@ -179,11 +416,15 @@ public class Events {
      * Where {@code T1, T2, ...} - corresponding types of values returned by method
      * marked with {@link Subscribe} annotation. Same values can be accessed using
      * {@link EventResult#getResult(int)} method.</p>
+     * <p>{@link #priority()} allows delivering results to this method ahead of other tasks,
+     * if it is higher than event's priority.</p>
      */
     @Target({ ElementType.METHOD })
     @Retention(RetentionPolicy.RUNTIME)
     public @interface Result {
         String value();
+
+        Priority priority() default Priority.NORMAL;
     }
 
     /**
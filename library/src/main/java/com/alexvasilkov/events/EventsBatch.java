@@ -0,0 +1,71 @@
+package com.alexvasilkov.events;
+
+import android.support.annotation.NonNull;
+
+import com.alexvasilkov.events.internal.Dispatcher;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects several events to post them into the bus at once.
+ * <p/>
+ * All collected events are handed over to main thread within a single message and are
+ * dispatched within a single execution pass, which is cheaper than posting events one by one
+ * when posting many events from background thread.
+ * <p/>
+ * See {@link Events#batch()}.
+ */
+public class EventsBatch {
+
+    private final Dispatcher dispatcher;
+    private final List<Event> events = new ArrayList<>();
+
+    private boolean isPosted;
+
+    EventsBatch(Dispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Adds event built by given builder to this batch. Builder cannot be posted anymore.
+     */
+    public EventsBatch add(@NonNull Event.Builder builder) {
+        checkNotPosted();
+        events.add(builder.build());
+        return this;
+    }
+
+    /**
+     * Adds event with provided event key to this batch.
+     */
+    public EventsBatch add(@NonNull String eventKey) {
+        return add(new Event.Builder(dispatcher, eventKey));
+    }
+
+    public int size() {
+        return events.size();
+    }
+
+    /**
+     * Posts all collected events in the order they were added.
+     */
+    public List<Event> post() {
+        checkNotPosted();
+        isPosted = true;
+
+        List<Event> list = Collections.unmodifiableList(new ArrayList<>(events));
+        if (!list.isEmpty()) {
+            dispatcher.postEvents(list);
+        }
+        return list;
+    }
+
+    private void checkNotPosted() {
+        if (isPosted) {
+            throw new EventsException("Batch | Already posted");
+        }
+    }
+
+}
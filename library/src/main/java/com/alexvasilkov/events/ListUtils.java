@@ -1,37 +1,53 @@
 package com.alexvasilkov.events;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
 
 class ListUtils {
 
+    private static final Object[] NULL_VALUE = new Object[] { null };
+
     private ListUtils() {
         // No instances
     }
 
-    static List<Object> append(List<Object> list, Object... values) {
+    // Returns right-sized array with given values appended, given array is never modified
+    static Object[] append(Object[] array, Object... values) {
         if (values == null) {
             // For 'method(Object...)':
             // when calling 'method(null)' to add null value Java will treat it as
             // 'method((Object[]) null)' while user will actually expect
             // 'method(new Object[]{null})'
-            if (list == null) {
-                list = new ArrayList<>();
-            }
-            list.add(null);
-        } else if (values.length > 0) {
-            if (list == null) {
-                list = new ArrayList<>();
-            }
-            Collections.addAll(list, values);
+            values = NULL_VALUE;
+        } else if (values.length == 0) {
+            return array;
         }
 
-        return list;
+        if (array == null) {
+            // Varargs array can still be modified by caller, so it should be copied
+            return values.clone();
+        }
+
+        Object[] result = Arrays.copyOf(array, array.length + values.length);
+        System.arraycopy(values, 0, result, array.length, values.length);
+        return result;
     }
 
-    static Object[] toArray(List<Object> list) {
-        return list == null ? null : list.toArray();
+    // Appends primitive slot marker, actual value should be stored with setBits()
+    static Object[] appendPrimitive(Object[] array, Primitive type) {
+        Object[] result = array == null ? new Object[1] : Arrays.copyOf(array, array.length + 1);
+        result[result.length - 1] = type;
+        return result;
+    }
+
+    // Stores primitive's bits at given index, bits array is only grown up to that index
+    static long[] setBits(long[] bits, int index, long value) {
+        if (bits == null) {
+            bits = new long[index + 1];
+        } else if (bits.length <= index) {
+            bits = Arrays.copyOf(bits, index + 1);
+        }
+        bits[index] = value;
+        return bits;
     }
 
     static int count(Object[] values) {
@@ -40,7 +56,137 @@ class ListUtils {
 
     @SuppressWarnings("unchecked")
     static <T> T get(Object[] values, int index) {
-        return values == null || values.length <= index || index < 0 ? null : (T) values[index];
+        return get(values, null, index);
+    }
+
+    // Primitive values are boxed
+    @SuppressWarnings("unchecked")
+    static <T> T get(Object[] values, long[] bits, int index) {
+        Object value = values == null || values.length <= index || index < 0 ? null : values[index];
+        return (T) (value instanceof Primitive ? ((Primitive) value).box(bits[index]) : value);
+    }
+
+    static int getInt(Object[] values, long[] bits, int index) {
+        Object value = values == null || values.length <= index || index < 0 ? null : values[index];
+        if (value == Primitive.DOUBLE) {
+            return (int) Double.longBitsToDouble(bits[index]);
+        } else if (value instanceof Primitive) {
+            return (int) bits[index];
+        } else {
+            return value instanceof Number ? ((Number) value).intValue() : 0;
+        }
+    }
+
+    static long getLong(Object[] values, long[] bits, int index) {
+        Object value = values == null || values.length <= index || index < 0 ? null : values[index];
+        if (value == Primitive.DOUBLE) {
+            return (long) Double.longBitsToDouble(bits[index]);
+        } else if (value instanceof Primitive) {
+            return bits[index];
+        } else {
+            return value instanceof Number ? ((Number) value).longValue() : 0L;
+        }
+    }
+
+    static double getDouble(Object[] values, long[] bits, int index) {
+        Object value = values == null || values.length <= index || index < 0 ? null : values[index];
+        if (value == Primitive.DOUBLE) {
+            return Double.longBitsToDouble(bits[index]);
+        } else if (value instanceof Primitive) {
+            return bits[index];
+        } else {
+            return value instanceof Number ? ((Number) value).doubleValue() : 0d;
+        }
+    }
+
+    // Same as Arrays.deepEquals(), primitive values are equal to corresponding boxed values
+    static boolean deepEquals(Object[] values1, long[] bits1, Object[] values2, long[] bits2) {
+        if (bits1 == null && bits2 == null) {
+            return Arrays.deepEquals(values1, values2);
+        }
+        int count = count(values1);
+        if (count != count(values2)) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            Object value1 = values1[i];
+            Object value2 = values2[i];
+            boolean isEqual;
+            if (value1 instanceof Primitive) {
+                isEqual = ((Primitive) value1).isEqual(bits1[i], value2, bits2, i);
+            } else if (value2 instanceof Primitive) {
+                isEqual = ((Primitive) value2).isEqual(bits2[i], value1, bits1, i);
+            } else if (value1 != null && value1.getClass().isArray()) {
+                isEqual = Arrays.deepEquals(new Object[] { value1 }, new Object[] { value2 });
+            } else {
+                isEqual = value1 == null ? value2 == null : value1.equals(value2);
+            }
+            if (!isEqual) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Hash code consistent with deepEquals(), primitive values have same hash as boxed values
+    static int deepHashCode(Object[] values, long[] bits) {
+        int result = 0;
+        for (int i = 0, count = count(values); i < count; i++) {
+            Object value = values[i];
+            int hash;
+            if (value instanceof Primitive) {
+                hash = ((Primitive) value).hash(bits[i]);
+            } else if (value != null && value.getClass().isArray()) {
+                hash = Arrays.deepHashCode(new Object[] { value });
+            } else {
+                hash = value == null ? 0 : value.hashCode();
+            }
+            result = 31 * result + hash;
+        }
+        return result;
+    }
+
+
+    /**
+     * Marker stored in values array in place of primitive value, the value itself is stored
+     * in separate {@code long[]} array as raw bits to avoid boxing. Doubles are stored as
+     * {@link Double#doubleToLongBits(double)}, so they can be compared by bits.
+     */
+    enum Primitive {
+        INT, LONG, DOUBLE;
+
+        Object box(long bits) {
+            switch (this) {
+                case INT:
+                    return (int) bits;
+                case LONG:
+                    return bits;
+                case DOUBLE:
+                default:
+                    return Double.longBitsToDouble(bits);
+            }
+        }
+
+        int hash(long bits) {
+            // Same as hash codes of Integer, Long and Double
+            return this == INT ? (int) bits : (int) (bits ^ (bits >>> 32));
+        }
+
+        boolean isEqual(long bits, Object other, long[] otherBits, int index) {
+            if (other == this) {
+                return bits == otherBits[index];
+            }
+            switch (this) {
+                case INT:
+                    return other instanceof Integer && (Integer) other == (int) bits;
+                case LONG:
+                    return other instanceof Long && (Long) other == bits;
+                case DOUBLE:
+                default:
+                    return other instanceof Double
+                            && Double.doubleToLongBits((Double) other) == bits;
+            }
+        }
     }
 
 }
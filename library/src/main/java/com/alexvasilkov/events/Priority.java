@@ -0,0 +1,28 @@
+package com.alexvasilkov.events;
+
+/**
+ * Dispatching priority of events and callbacks. Tasks of higher priority are executed first,
+ * both on main thread and by background executors, while tasks of lower priority are still
+ * executed from time to time to not be starved by a long burst of higher priority tasks.
+ * <p/>
+ * See {@link Event.Builder#priority(Priority)}, {@link Events.Subscribe#priority()} and
+ * {@link Events.Result#priority()}.
+ */
+public enum Priority {
+
+    /**
+     * For events which can wait, i.e. analytics or prefetching.
+     */
+    LOW,
+
+    /**
+     * Default priority.
+     */
+    NORMAL,
+
+    /**
+     * For events which directly affect user interface.
+     */
+    HIGH
+
+}
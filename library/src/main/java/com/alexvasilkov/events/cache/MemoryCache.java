@@ -1,13 +1,12 @@
 package com.alexvasilkov.events.cache;
 
-import android.os.Handler;
-import android.os.Looper;
-import android.os.Message;
-import android.os.SystemClock;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.alexvasilkov.events.Event;
 import com.alexvasilkov.events.EventResult;
+import com.alexvasilkov.events.internal.EventsParams;
+import com.alexvasilkov.events.loop.EventsLoop;
 
 import java.lang.ref.WeakReference;
 import java.util.HashMap;
@@ -18,10 +17,15 @@ public class MemoryCache implements CacheProvider {
 
     public static final long NO_TIME_LIMIT = 0L;
 
-    private final Map<String, CacheEntry> cache = new HashMap<>();
-    private final CacheHandler handler = new CacheHandler(this);
+    // Extra delay before clearing expired entries
+    private static final long CLEAR_DELAY = 10L;
+
+    private final Map<Object, CacheEntry> cache = new HashMap<>();
     private final long maxLifetime;
 
+    private EventsLoop loop;
+    private EventsLoop.Channel channel;
+
     @SuppressWarnings("unused") // Used through reflection
     public MemoryCache() {
         this(NO_TIME_LIMIT);
@@ -45,7 +49,7 @@ public class MemoryCache implements CacheProvider {
     public EventResult loadFromCache(@NonNull Event event) {
         synchronized (cache) {
             clearExpired();
-            CacheEntry entry = cache.get(toCacheKey(event));
+            CacheEntry entry = cache.get(getCacheKey(event));
             return entry == null ? null : entry.result;
         }
     }
@@ -54,15 +58,17 @@ public class MemoryCache implements CacheProvider {
     public void saveToCache(@NonNull Event event, EventResult result) {
         synchronized (cache) {
             long expires = maxLifetime == NO_TIME_LIMIT
-                    ? Long.MAX_VALUE : SystemClock.uptimeMillis() + maxLifetime;
-            cache.put(toCacheKey(event), new CacheEntry(result, expires));
-            handler.clear(expires);
+                    ? Long.MAX_VALUE : EventsParams.getLoop().uptimeMillis() + maxLifetime;
+            cache.put(getCacheKey(event), new CacheEntry(result, expires));
+            if (expires != Long.MAX_VALUE) {
+                getChannel().send(0, null, maxLifetime + CLEAR_DELAY, false);
+            }
         }
     }
 
     protected void clearExpired() {
         synchronized (cache) {
-            long now = SystemClock.uptimeMillis();
+            long now = EventsParams.getLoop().uptimeMillis();
             for (Iterator<CacheEntry> iterator = cache.values().iterator(); iterator.hasNext(); ) {
                 if (iterator.next().expires < now) {
                     iterator.remove();
@@ -71,16 +77,38 @@ public class MemoryCache implements CacheProvider {
         }
     }
 
+    // Loop can be changed at any time, so channel is re-created for current loop if needed
+    private EventsLoop.Channel getChannel() {
+        EventsLoop currentLoop = EventsParams.getLoop();
+        if (loop != currentLoop) {
+            loop = currentLoop;
+            channel = currentLoop.createChannel(new CacheReceiver(this));
+        }
+        return channel;
+    }
+
+    /**
+     * Returns custom string key used to store result of given event, or {@code null} (default)
+     * to use {@link #toDeepCacheKey(Event)}.
+     */
+    @Nullable
     protected String toCacheKey(@NonNull Event event) {
-        StringBuilder builder = new StringBuilder();
-        builder.append(event.getKey());
+        return null;
+    }
 
-        int count = event.getParamsCount();
-        for (int i = 0; i < count; i++) {
-            builder.append('_').append(event.getParam(i));
-        }
+    /**
+     * Returns key used to store result of given event if no custom string key is provided.
+     * By default events are matched by key and parameters, see
+     * {@link Event#isDeeplyEqual(Event, Event)}.
+     */
+    @NonNull
+    protected Object toDeepCacheKey(@NonNull Event event) {
+        return Event.toDeepKey(event);
+    }
 
-        return builder.toString();
+    private Object getCacheKey(Event event) {
+        String key = toCacheKey(event);
+        return key == null ? toDeepCacheKey(event) : key;
     }
 
 
@@ -94,20 +122,15 @@ public class MemoryCache implements CacheProvider {
         }
     }
 
-    private static class CacheHandler extends Handler {
-        private WeakReference<MemoryCache> cache;
+    private static class CacheReceiver implements EventsLoop.Receiver {
+        private final WeakReference<MemoryCache> cache;
 
-        CacheHandler(MemoryCache cache) {
-            super(Looper.getMainLooper());
+        CacheReceiver(MemoryCache cache) {
             this.cache = new WeakReference<>(cache);
         }
 
-        private void clear(long when) {
-            sendEmptyMessageAtTime(0, when + 10L);
-        }
-
         @Override
-        public void handleMessage(@NonNull Message msg) {
+        public void onMessage(int what, Object obj) {
             MemoryCache cache = this.cache.get();
             if (cache != null) {
                 cache.clearExpired();
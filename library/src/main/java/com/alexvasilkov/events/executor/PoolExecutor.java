@@ -0,0 +1,141 @@
+package com.alexvasilkov.events.executor;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread pool which creates threads on demand up to given limit and stops them once they are
+ * idle for too long, so that no threads are kept while there is no background work.
+ * Collects usage statistics, see {@link #getStats()}.
+ * <p/>
+ * Queued {@link Prioritized} tasks of higher priority are executed first.
+ * <p/>
+ * Threads are daemon threads, so the pool does not prevent JVM from exiting.
+ */
+public class PoolExecutor extends ThreadPoolExecutor {
+
+    private static final int CPU_COUNT = Runtime.getRuntime().availableProcessors();
+    private static final int MIN_IO_THREADS = 8;
+    private static final long DEFAULT_KEEP_ALIVE = 30000L;
+
+    private final String name;
+    private final long createdAt = System.nanoTime();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final AtomicInteger largestQueueSize = new AtomicInteger();
+    private final ThreadLocal<Long> startedAt = new ThreadLocal<>();
+
+    /**
+     * @param name Pool name, used for threads names
+     * @param maxThreads Max number of threads running at once
+     * @param keepAlive Time in milliseconds after which idle thread is stopped
+     */
+    public PoolExecutor(@NonNull String name, int maxThreads, long keepAlive) {
+        // Core size equals max size since threads are only added above core size once queue is
+        // full, core threads are allowed to time out instead
+        super(maxThreads, maxThreads, keepAlive, TimeUnit.MILLISECONDS,
+                new PriorityTasksQueue(), new PoolThreadFactory(name));
+        this.name = name;
+        allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates general purpose pool sized according to the number of available CPU cores:
+     * big enough to keep all cores busy even if some of the tasks are blocked by IO, but small
+     * enough to not overload low-end devices.
+     */
+    public static PoolExecutor createDefault() {
+        return create("EventsBackground");
+    }
+
+    /**
+     * Creates general purpose pool with given name, see {@link #createDefault()}.
+     */
+    public static PoolExecutor create(@NonNull String name) {
+        return new PoolExecutor(name, 2 * CPU_COUNT + 1, DEFAULT_KEEP_ALIVE);
+    }
+
+    /**
+     * Creates pool for blocking IO operations. Such tasks mostly wait, so there can be many
+     * more threads than CPU cores.
+     */
+    public static PoolExecutor createIo() {
+        return new PoolExecutor("EventsIo", Math.max(MIN_IO_THREADS, 4 * CPU_COUNT),
+                DEFAULT_KEEP_ALIVE);
+    }
+
+    /**
+     * Creates pool for CPU-bound operations, with a thread per CPU core.
+     */
+    public static PoolExecutor createCompute() {
+        return new PoolExecutor("EventsCompute", CPU_COUNT, DEFAULT_KEEP_ALIVE);
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        super.execute(command);
+
+        int queueSize = getQueue().size();
+        int largest;
+        while (queueSize > (largest = largestQueueSize.get())) {
+            if (largestQueueSize.compareAndSet(largest, queueSize)) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable task) {
+        startedAt.set(System.nanoTime());
+    }
+
+    @Override
+    protected void afterExecute(Runnable task, Throwable error) {
+        Long started = startedAt.get();
+        if (started != null) {
+            busyNanos.addAndGet(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Returns current pool usage statistics.
+     */
+    @NonNull
+    public PoolStats getStats() {
+        long elapsed = System.nanoTime() - createdAt;
+        int maxThreads = getMaximumPoolSize();
+        float utilization = elapsed <= 0L ? 0f
+                : (float) ((double) busyNanos.get() / ((double) elapsed * maxThreads));
+
+        return new PoolStats(name, maxThreads, getPoolSize(), getLargestPoolSize(),
+                getActiveCount(), getQueue().size(), largestQueueSize.get(),
+                getCompletedTaskCount(), Math.min(utilization, 1f));
+    }
+
+
+    private static class PoolThreadFactory implements ThreadFactory {
+        private final String name;
+        private final AtomicInteger counter = new AtomicInteger();
+
+        PoolThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
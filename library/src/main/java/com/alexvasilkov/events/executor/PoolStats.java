@@ -0,0 +1,93 @@
+package com.alexvasilkov.events.executor;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Snapshot of background pool usage, see {@link PoolExecutor#getStats()}.
+ */
+public class PoolStats {
+
+    private final String name;
+    private final int maxThreads;
+    private final int threads;
+    private final int largestThreads;
+    private final int activeThreads;
+    private final int queueSize;
+    private final int largestQueueSize;
+    private final long completedTasks;
+    private final float utilization;
+
+    PoolStats(String name, int maxThreads, int threads, int largestThreads, int activeThreads,
+            int queueSize, int largestQueueSize, long completedTasks, float utilization) {
+        this.name = name;
+        this.maxThreads = maxThreads;
+        this.threads = threads;
+        this.largestThreads = largestThreads;
+        this.activeThreads = activeThreads;
+        this.queueSize = queueSize;
+        this.largestQueueSize = largestQueueSize;
+        this.completedTasks = completedTasks;
+        this.utilization = utilization;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    /**
+     * Number of currently alive threads, idle threads are stopped after a timeout.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getLargestThreads() {
+        return largestThreads;
+    }
+
+    /**
+     * Number of threads which are executing tasks right now.
+     */
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    /**
+     * Number of tasks waiting for a free thread.
+     */
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public int getLargestQueueSize() {
+        return largestQueueSize;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    /**
+     * Fraction of time (from 0 to 1) the threads were busy since the pool was created,
+     * relative to max number of threads. Constantly high values mean that pool is too small,
+     * constantly low values mean that it can be made smaller.
+     */
+    public float getUtilization() {
+        return utilization;
+    }
+
+    @Override
+    public String toString() {
+        return name + " [threads: " + threads + "/" + maxThreads
+                + ", active: " + activeThreads
+                + ", queued: " + queueSize + " (max " + largestQueueSize + ")"
+                + ", completed: " + completedTasks
+                + ", utilization: " + Math.round(utilization * 100f) + "%]";
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.alexvasilkov.events.executor;
+
+import android.support.annotation.NonNull;
+
+import com.alexvasilkov.events.Priority;
+
+/**
+ * Task which has dispatching priority. Background subscribers are passed to executors as such
+ * tasks, so that executors can run higher priority tasks first, see {@link PoolExecutor}.
+ */
+public interface Prioritized {
+
+    @NonNull
+    Priority getPriority();
+
+}
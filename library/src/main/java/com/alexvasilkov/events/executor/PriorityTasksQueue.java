@@ -0,0 +1,260 @@
+package com.alexvasilkov.events.executor;
+
+import android.support.annotation.NonNull;
+
+import com.alexvasilkov.events.Priority;
+
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Unbounded blocking queue with a separate FIFO lane for each {@link Priority}, higher lanes are
+ * drained first. Tasks which are not {@link Prioritized} have {@link Priority#NORMAL} priority.
+ * <p/>
+ * To protect lower lanes from starvation once {@link #FAIR_POLL_INTERVAL} tasks in a row were
+ * taken while lower lanes were waiting, the task is taken from the non-empty lower lane which
+ * was not polled for the longest time.
+ */
+class PriorityTasksQueue extends AbstractQueue<Runnable> implements BlockingQueue<Runnable> {
+
+    static final int FAIR_POLL_INTERVAL = 8;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Runnable>[] lanes =
+            (ArrayDeque<Runnable>[]) new ArrayDeque<?>[PRIORITIES.length];
+    // Polls counter value when each lane was polled last time
+    private final long[] lastPolls = new long[PRIORITIES.length];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private long polls;
+    private int unfairPolls;
+    private int size;
+
+    PriorityTasksQueue() {
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+    }
+
+    @Override
+    public boolean offer(@NonNull Runnable task) {
+        if (task == null) {
+            throw new NullPointerException("Task cannot be null");
+        }
+
+        Priority priority = task instanceof Prioritized
+                ? ((Prioritized) task).getPriority() : Priority.NORMAL;
+
+        lock.lock();
+        try {
+            lanes[priority.ordinal()].addLast(task);
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    @Override
+    public void put(@NonNull Runnable task) {
+        offer(task);
+    }
+
+    @Override
+    public boolean offer(Runnable task, long timeout, @NonNull TimeUnit unit) {
+        return offer(task);
+    }
+
+    @Override
+    public Runnable poll() {
+        lock.lock();
+        try {
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @NonNull
+    @Override
+    public Runnable take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable poll(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                if (nanos <= 0L) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return dequeue();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Runnable peek() {
+        lock.lock();
+        try {
+            for (int i = lanes.length - 1; i >= 0; i--) {
+                if (!lanes[i].isEmpty()) {
+                    return lanes[i].peekFirst();
+                }
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object task) {
+        lock.lock();
+        try {
+            for (ArrayDeque<Runnable> lane : lanes) {
+                if (lane.removeFirstOccurrence(task)) {
+                    size--;
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int drainTo(@NonNull Collection<? super Runnable> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(@NonNull Collection<? super Runnable> collection, int maxElements) {
+        lock.lock();
+        try {
+            int count = 0;
+            Runnable task;
+            while (count < maxElements && (task = dequeue()) != null) {
+                collection.add(task);
+                count++;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Iterates over a snapshot of queued tasks, from higher priority to lower
+    @NonNull
+    @Override
+    public Iterator<Runnable> iterator() {
+        final List<Runnable> snapshot = new ArrayList<>();
+        lock.lock();
+        try {
+            for (int i = lanes.length - 1; i >= 0; i--) {
+                snapshot.addAll(lanes[i]);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        final Iterator<Runnable> iterator = snapshot.iterator();
+        return new Iterator<Runnable>() {
+            private Runnable current;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Runnable next() {
+                current = iterator.next();
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                if (current == null) {
+                    throw new IllegalStateException();
+                }
+                PriorityTasksQueue.this.remove(current);
+                current = null;
+            }
+        };
+    }
+
+    // Should be called under lock
+    private Runnable dequeue() {
+        if (size == 0) {
+            return null;
+        }
+
+        int highest = -1;
+        int longestWaiting = -1;
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            if (!lanes[i].isEmpty()) {
+                if (highest == -1) {
+                    highest = i;
+                } else if (longestWaiting == -1 || lastPolls[i] < lastPolls[longestWaiting]) {
+                    longestWaiting = i;
+                }
+            }
+        }
+
+        int lane = highest;
+        if (longestWaiting == -1) {
+            unfairPolls = 0; // Nothing is starving
+        } else if (++unfairPolls >= FAIR_POLL_INTERVAL) {
+            lane = longestWaiting;
+            unfairPolls = 0;
+        }
+
+        lastPolls[lane] = ++polls;
+        size--;
+        return lanes[lane].pollFirst();
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.alexvasilkov.events.executor;
+
+import android.support.annotation.NonNull;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executor which starts a new virtual thread for each task, so that blocking subscribers do not
+ * hold any platform threads while waiting. Virtual threads are only available on JVM 21+,
+ * see {@link #isSupported()}. They are looked up using reflection, so this class can still be
+ * loaded on Android or older JVMs.
+ */
+public class VirtualThreadExecutor implements Executor {
+
+    private static final boolean SUPPORTED = createFactory("EventsProbe") != null;
+
+    private final ThreadFactory factory;
+
+    /**
+     * @param name Executor name, used for threads names
+     * @throws UnsupportedOperationException If virtual threads are not supported by current
+     * runtime
+     */
+    public VirtualThreadExecutor(@NonNull String name) {
+        factory = SUPPORTED ? createFactory(name) : null;
+        if (factory == null) {
+            throw new UnsupportedOperationException("Virtual threads are not supported");
+        }
+    }
+
+    /**
+     * Whether current runtime supports virtual threads.
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    @Override
+    public void execute(@NonNull Runnable command) {
+        factory.newThread(command).start();
+    }
+
+    // Calls Thread.ofVirtual().name(name + "-", 1).factory()
+    private static ThreadFactory createFactory(String name) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method nameMethod = builderClass.getMethod("name", String.class, long.class);
+            builder = nameMethod.invoke(builder, name + "-", 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Throwable ignored) {
+            // Either method is not found or virtual threads are disabled (i.e. preview feature)
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.alexvasilkov.events.index;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Index of annotated methods collected at compile time, allows registering subscribers without
+ * costly annotations look up.
+ * <p/>
+ * Index is generated by events annotation processor ('com.alexvasilkov:events-compiler') into
+ * class specified with {@code eventsIndex} processor option and should be passed to
+ * {@link com.alexvasilkov.events.Events#addIndex(EventsIndex)} before registering any
+ * subscribers. Classes which are not found in any index are scanned using reflection.
+ */
+public interface EventsIndex {
+
+    /**
+     * Returns methods declared in class with given name (not including super classes' methods),
+     * or {@code null} if class is not indexed.
+     */
+    @Nullable
+    IndexedMethod[] getMethods(@NonNull String className);
+
+}
@@ -0,0 +1,94 @@
+package com.alexvasilkov.events.index;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.alexvasilkov.events.Events.Background;
+import com.alexvasilkov.events.Priority;
+import com.alexvasilkov.events.cache.CacheProvider;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Compile time information about annotated method, see {@link EventsIndex}.
+ */
+public class IndexedMethod {
+
+    public final String name;
+    public final Class<?>[] params;
+    public final Class<? extends Annotation> type;
+    public final String eventKey;
+
+    public final boolean isStatic;
+    public final boolean hasReturnType;
+    public final boolean isBackground;
+    public final boolean isSingleThread;
+    public final boolean isKeyedSerial;
+    public final String pool;
+    public final Priority priority;
+    public final boolean isCollapsing;
+    public final Class<? extends CacheProvider> cache;
+    public final MethodInvoker invoker;
+
+    /**
+     * @param name Method name
+     * @param params Method parameters types
+     * @param type One of {@link com.alexvasilkov.events.Events.Subscribe},
+     * {@link com.alexvasilkov.events.Events.Status}, {@link com.alexvasilkov.events.Events.Result}
+     * or {@link com.alexvasilkov.events.Events.Failure} annotations
+     * @param eventKey Event key defined by annotation
+     * @param isStatic Whether method is static
+     * @param hasReturn Whether method has non-void return type
+     * @param isBackground Whether method is marked with
+     * {@link com.alexvasilkov.events.Events.Background}
+     * @param isSingleThread Value of
+     * {@link com.alexvasilkov.events.Events.Background#singleThread()}
+     * @param isKeyedSerial Value of
+     * {@link com.alexvasilkov.events.Events.Background#keyedSerial()}
+     * @param pool Value of {@link com.alexvasilkov.events.Events.Background#pool()}
+     * @param priority Value of {@link com.alexvasilkov.events.Events.Subscribe#priority()} or
+     * {@link com.alexvasilkov.events.Events.Result#priority()}
+     * @param isCollapsing Value of {@link com.alexvasilkov.events.Events.Subscribe#collapse()}
+     * @param cache Cache provider defined by {@link com.alexvasilkov.events.Events.Cache}
+     * @param invoker Direct method invoker or {@code null} if method is not accessible from
+     * the index, in which case method will be called using reflection
+     */
+    public IndexedMethod(@NonNull String name, @NonNull Class<?>[] params,
+            @NonNull Class<? extends Annotation> type, @NonNull String eventKey,
+            boolean isStatic, boolean hasReturn, boolean isBackground, boolean isSingleThread,
+            boolean isKeyedSerial, @NonNull String pool, @NonNull Priority priority,
+            boolean isCollapsing, @Nullable Class<? extends CacheProvider> cache,
+            @Nullable MethodInvoker invoker) {
+        this.name = name;
+        this.params = params;
+        this.type = type;
+        this.eventKey = eventKey;
+        this.isStatic = isStatic;
+        this.hasReturnType = hasReturn;
+        this.isBackground = isBackground;
+        this.isSingleThread = isSingleThread;
+        this.isKeyedSerial = isKeyedSerial;
+        this.pool = pool;
+        this.priority = priority;
+        this.isCollapsing = isCollapsing;
+        this.cache = cache;
+        this.invoker = invoker;
+    }
+
+    public IndexedMethod(@NonNull String name, @NonNull Class<?>[] params,
+            @NonNull Class<? extends Annotation> type, @NonNull String eventKey,
+            boolean isStatic, boolean hasReturn, boolean isBackground, boolean isSingleThread,
+            @Nullable Class<? extends CacheProvider> cache, @Nullable MethodInvoker invoker) {
+        this(name, params, type, eventKey, isStatic, hasReturn, isBackground, isSingleThread,
+                false, Background.DEFAULT, Priority.NORMAL, false, cache, invoker);
+    }
+
+    public IndexedMethod(@NonNull String name, @NonNull Class<?>[] params,
+            @NonNull Class<? extends Annotation> type, @NonNull String eventKey,
+            boolean isStatic, boolean hasReturn, boolean isBackground, boolean isSingleThread,
+            @Nullable Class<? extends CacheProvider> cache) {
+        this(name, params, type, eventKey, isStatic, hasReturn, isBackground, isSingleThread,
+                cache, null);
+    }
+
+}
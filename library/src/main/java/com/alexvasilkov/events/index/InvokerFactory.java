@@ -0,0 +1,23 @@
+package com.alexvasilkov.events.index;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.lang.reflect.Method;
+
+/**
+ * Creates invokers for methods which have no generated {@link MethodInvoker}. Invoker is created
+ * once per method when its class is registered for the first time.
+ * <p/>
+ * See {@link com.alexvasilkov.events.Events#setInvokerFactory(InvokerFactory)}.
+ */
+public interface InvokerFactory {
+
+    /**
+     * Returns invoker for given method or {@code null} if method should be called with
+     * reflection. Method is already made accessible.
+     */
+    @Nullable
+    MethodInvoker create(@NonNull Method method);
+
+}
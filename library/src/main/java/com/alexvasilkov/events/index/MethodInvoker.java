@@ -0,0 +1,22 @@
+package com.alexvasilkov.events.index;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Calls particular annotated method directly, without reflection. Generated by events annotation
+ * processor as part of {@link EventsIndex}.
+ */
+public interface MethodInvoker {
+
+    /**
+     * Calls the method with given arguments. Any exception thrown by the method should be
+     * re-thrown as is.
+     *
+     * @param target Target object or {@code null} for static methods
+     * @param args Method arguments, of the types declared by the method
+     * @return Value returned by the method or {@code null} for void methods
+     */
+    Object invoke(@Nullable Object target, @NonNull Object[] args) throws Throwable;
+
+}
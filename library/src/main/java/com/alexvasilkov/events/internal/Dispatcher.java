@@ -1,41 +1,48 @@
 package com.alexvasilkov.events.internal;
 
-import android.os.Handler;
-import android.os.Looper;
-import android.os.Message;
-import android.os.SystemClock;
 import android.support.annotation.MainThread;
-import android.support.annotation.NonNull;
-import android.util.Log;
 
+import com.alexvasilkov.events.DispatchMode;
 import com.alexvasilkov.events.Event;
 import com.alexvasilkov.events.EventFailure;
 import com.alexvasilkov.events.EventResult;
 import com.alexvasilkov.events.EventStatus;
-
+import com.alexvasilkov.events.Events.Background;
+import com.alexvasilkov.events.Priority;
+import com.alexvasilkov.events.loop.EventsLoop;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Dispatches targets registration and events execution. Works on main thread to avoid
- * synchronization issues and uses {@link Handler} to schedule execution on main thread.
+ * Dispatches targets registration and events execution. Works on main thread (loop's thread) to
+ * avoid synchronization issues and uses {@link EventsLoop} to schedule execution on main thread.
  */
 public class Dispatcher {
 
-    private static final int MAX_THREADS = 5;
+    private static final int EMPTY_KEY_ID = EventKeys.intern(EventsParams.EMPTY_KEY);
 
-    private final List<EventTarget> targets = new LinkedList<>();
-    private final LinkedList<Task> executionQueue = new LinkedList<>();
+    // Targets are compared by identity, registration order is kept by subscriptions index
+    private final Map<Object, EventTarget> targets = new IdentityHashMap<>();
+    private final SubscriptionsIndex subscriptions = new SubscriptionsIndex();
+    private final TasksQueue executionQueue = new TasksQueue();
+    final TasksPool tasksPool = new TasksPool();
 
     private final Set<Event> activeEvents = new HashSet<>();
+    // Running events which deeply equal events can be attached to, see Subscribe.collapse()
+    private final Map<CollapseKey, Event> collapsingEvents = new HashMap<>();
 
     private final MainThreadHandler mainThreadHandler = new MainThreadHandler(this);
-    private final ExecutorService backgroundExecutor = Executors.newFixedThreadPool(MAX_THREADS);
 
     private boolean isExecuting;
 
@@ -50,11 +57,33 @@ public class Dispatcher {
         mainThreadHandler.unregister(targetObj);
     }
 
+    // Collects annotated methods of given classes in background
+    public void preload(final Class<?>[] classes) {
+        EventsParams.getExecutor(Background.DEFAULT).execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Class<?> clazz : classes) {
+                    try {
+                        EventMethodsHelper.preload(clazz);
+                    } catch (RuntimeException e) {
+                        // Same error will be thrown on main thread during registration
+                        Utils.logE(clazz, "Cannot preload methods", e);
+                    }
+                }
+            }
+        });
+    }
+
     // Schedules event execution
     public void postEvent(Event event) {
         mainThreadHandler.postEvent(event);
     }
 
+    // Schedules execution of several events at once
+    public void postEvents(List<Event> events) {
+        mainThreadHandler.postEvents(events);
+    }
+
     // Schedules result callback
     public void postEventResult(Event event, EventResult result) {
         mainThreadHandler.postEventResult(event, result);
@@ -70,6 +99,12 @@ public class Dispatcher {
         mainThreadHandler.postTaskFinished(task);
     }
 
+    // Returns number of tasks execution requests which were skipped since execution was
+    // already scheduled
+    public long getSkippedExecutesCount() {
+        return mainThreadHandler.getSkippedExecutesCount();
+    }
+
     // Schedules tasks execution on main thread
     private void executeTasks(boolean delay) {
         mainThreadHandler.executeTasks(delay);
@@ -81,10 +116,12 @@ public class Dispatcher {
     private void scheduleActiveStatusesUpdates(EventTarget target, EventStatus status) {
         for (Event event : activeEvents) {
             for (EventMethod method : target.methods) {
-                if (event.getKey().equals(method.eventKey)
-                        && method.type == EventMethod.Type.STATUS) {
+                if (method.type == EventMethod.Type.STATUS
+                        && (((EventBase) event).keyId == method.keyId
+                        || EventKeys.matches(method.eventKey, event.getKey()))) {
                     Utils.log(event.getKey(), method, "Scheduling status update for new target");
-                    executionQueue.addFirst(Task.create(this, target, method, event, status));
+                    executionQueue.addFirst(Task.create(this, target, method, event, status),
+                            ((EventBase) event).dispatchPriority);
                 }
             }
         }
@@ -93,47 +130,34 @@ public class Dispatcher {
     // Schedules status update of given event for all registered targets.
     @MainThread
     private void scheduleStatusUpdates(Event event, EventStatus status) {
-        for (EventTarget target : targets) {
-            for (EventMethod method : target.methods) {
-                if (event.getKey().equals(method.eventKey)
-                        && method.type == EventMethod.Type.STATUS) {
-                    Utils.log(event.getKey(), method, "Scheduling status update");
-                    executionQueue.add(Task.create(this, target, method, event, status));
-                }
-            }
+        for (Subscription sub : subscriptions.get(event, EventMethod.Type.STATUS)) {
+            Utils.log(event.getKey(), sub.method, "Scheduling status update");
+            executionQueue.add(Task.create(this, sub.target, sub.method, event, status),
+                    ((EventBase) event).dispatchPriority);
         }
     }
 
-    // Schedules handling of given event for all registered targets.
+    // Schedules handling of given event for given subscribers.
     @MainThread
-    private void scheduleSubscribersInvocation(Event event) {
-        for (EventTarget target : targets) {
-            for (EventMethod method : target.methods) {
-                if (event.getKey().equals(method.eventKey)
-                        && method.type == EventMethod.Type.SUBSCRIBE) {
+    private void scheduleSubscribersInvocation(Event event, Collection<Subscription> subs) {
+        for (Subscription sub : subs) {
+            Utils.log(event.getKey(), sub.method, "Scheduling event execution");
 
-                    Utils.log(event.getKey(), method, "Scheduling event execution");
+            ((EventBase) event).handlersCount++;
 
-                    ((EventBase) event).handlersCount++;
-
-                    Task task = Task.create(this, target, method, event);
-                    executionQueue.add(task);
-                }
-            }
+            Task task = Task.create(this, sub.target, sub.method, event);
+            executionQueue.add(task, ((EventBase) event).dispatchPriority);
         }
     }
 
     // Schedules sending result to all registered targets.
     @MainThread
     private void scheduleResultCallbacks(Event event, EventResult result) {
-        for (EventTarget target : targets) {
-            for (EventMethod method : target.methods) {
-                if (event.getKey().equals(method.eventKey)
-                        && method.type == EventMethod.Type.RESULT) {
-                    Utils.log(event.getKey(), method, "Scheduling result callback");
-                    executionQueue.add(Task.create(this, target, method, event, result));
-                }
-            }
+        for (Subscription sub : subscriptions.get(event, EventMethod.Type.RESULT)) {
+            Utils.log(event.getKey(), sub.method, "Scheduling result callback");
+            // Result callback can be delivered earlier than other callbacks of this event
+            Priority priority = max(((EventBase) event).dispatchPriority, sub.method.priority);
+            executionQueue.add(Task.create(this, sub.target, sub.method, event, result), priority);
         }
     }
 
@@ -141,25 +165,17 @@ public class Dispatcher {
     @MainThread
     private void scheduleFailureCallbacks(Event event, EventFailure failure) {
         // Sending failure callback for explicit handlers of given event
-        for (EventTarget target : targets) {
-            for (EventMethod method : target.methods) {
-                if (event.getKey().equals(method.eventKey)
-                        && method.type == EventMethod.Type.FAILURE) {
-                    Utils.log(event.getKey(), method, "Scheduling failure callback");
-                    executionQueue.add(Task.create(this, target, method, event, failure));
-                }
-            }
+        for (Subscription sub : subscriptions.get(event, EventMethod.Type.FAILURE)) {
+            Utils.log(event.getKey(), sub.method, "Scheduling failure callback");
+            executionQueue.add(Task.create(this, sub.target, sub.method, event, failure),
+                    ((EventBase) event).dispatchPriority);
         }
 
         // Sending failure callback to general handlers (with no particular event key)
-        for (EventTarget target : targets) {
-            for (EventMethod method : target.methods) {
-                if (EventsParams.EMPTY_KEY.equals(method.eventKey)
-                        && method.type == EventMethod.Type.FAILURE) {
-                    Utils.log(event.getKey(), method, "Scheduling general failure callback");
-                    executionQueue.add(Task.create(this, target, method, event, failure));
-                }
-            }
+        for (Subscription sub : subscriptions.get(EMPTY_KEY_ID, EventMethod.Type.FAILURE)) {
+            Utils.log(event.getKey(), sub.method, "Scheduling general failure callback");
+            executionQueue.add(Task.create(this, sub.target, sub.method, event, failure),
+                    ((EventBase) event).dispatchPriority);
         }
     }
 
@@ -171,15 +187,14 @@ public class Dispatcher {
             throw new NullPointerException("Target cannot be null");
         }
 
-        for (EventTarget target : targets) {
-            if (target.targetObj == targetObj) {
-                Utils.logE(targetObj, "Already registered");
-                return;
-            }
+        if (targets.containsKey(targetObj)) {
+            Utils.logE(targetObj, "Already registered");
+            return;
         }
 
         EventTarget target = new EventTarget(targetObj);
-        targets.add(target);
+        targets.put(targetObj, target);
+        subscriptions.add(target);
 
         Utils.log(targetObj, "Registered");
 
@@ -194,20 +209,13 @@ public class Dispatcher {
             throw new NullPointerException("Target cannot be null");
         }
 
-        EventTarget target = null;
-
-        for (Iterator<EventTarget> iterator = targets.iterator(); iterator.hasNext(); ) {
-            EventTarget listTarget = iterator.next();
-            if (listTarget.targetObj == targetObj) {
-                iterator.remove();
-                target = listTarget;
-                target.targetObj = null;
-                break;
-            }
-        }
+        EventTarget target = targets.remove(targetObj);
 
         if (target == null) {
             Utils.logE(targetObj, "Was not registered");
+        } else {
+            subscriptions.remove(target);
+            target.targetObj = null;
         }
 
         Utils.log(targetObj, "Unregistered");
@@ -216,23 +224,84 @@ public class Dispatcher {
     // Handles event posting
     @MainThread
     private void handleEventPost(Event event) {
+        if (scheduleEventPost(event)) {
+            executeTasks(false);
+        }
+    }
+
+    // Handles several events posting, all events will be executed within single execution pass
+    @MainThread
+    private void handleEventsPost(List<Event> events) {
+        boolean isScheduled = false;
+        for (Event event : events) {
+            isScheduled |= scheduleEventPost(event);
+        }
+
+        if (isScheduled) {
+            executeTasks(false);
+        }
+    }
+
+    // Schedules event execution, returns false if there are no subscribers for this event
+    @MainThread
+    private boolean scheduleEventPost(Event event) {
         Utils.log(event.getKey(), "Handling posted event");
 
-        int sizeBefore = executionQueue.size();
+        Collection<Subscription> subs = subscriptions.get(event, EventMethod.Type.SUBSCRIBE);
+
+        if (subs.isEmpty()) {
+            Utils.log(event.getKey(), "No subscribers found");
+            return false;
+        }
+
+        // All event's tasks use the same priority to keep statuses and callbacks in order
+        Priority priority = event.getPriority();
+        if (priority == null) {
+            priority = Priority.LOW;
+            for (Subscription sub : subs) {
+                priority = max(priority, sub.method.priority);
+            }
+        }
+        ((EventBase) event).dispatchPriority = priority;
+
+        if (isCollapsing(subs)) {
+            CollapseKey key = new CollapseKey(event);
+            Event runningEvent = collapsingEvents.get(key);
+
+            if (runningEvent == null) {
+                ((EventBase) event).collapseKey = key;
+                collapsingEvents.put(key, event);
+            } else {
+                Utils.log(event.getKey(), "Attaching to running event");
+
+                List<Event> attached = ((EventBase) runningEvent).attachedEvents;
+                if (attached == null) {
+                    attached = new ArrayList<>();
+                    ((EventBase) runningEvent).attachedEvents = attached;
+                }
+                attached.add(event);
+
+                scheduleStatusUpdates(event, EventStatus.STARTED);
+                activeEvents.add(event);
+                return true;
+            }
+        }
 
         scheduleStatusUpdates(event, EventStatus.STARTED);
-        scheduleSubscribersInvocation(event);
+        scheduleSubscribersInvocation(event, subs);
 
-        if (((EventBase) event).handlersCount == 0) {
-            Utils.log(event.getKey(), "No subscribers found");
-            // Removing all scheduled STARTED status callbacks
-            while (executionQueue.size() > sizeBefore) {
-                executionQueue.removeLast();
+        activeEvents.add(event);
+        return true;
+    }
+
+    // Event can only share execution if all its subscribers allow it
+    private static boolean isCollapsing(Collection<Subscription> subs) {
+        for (Subscription sub : subs) {
+            if (!sub.method.isCollapsing) {
+                return false;
             }
-        } else {
-            activeEvents.add(event);
-            executeTasks(false);
         }
+        return true;
     }
 
     // Handles event result
@@ -244,6 +313,15 @@ public class Dispatcher {
         }
 
         scheduleResultCallbacks(event, result);
+        stopCollapsing(event);
+
+        List<Event> attached = ((EventBase) event).attachedEvents;
+        if (attached != null) {
+            for (Event attachedEvent : attached) {
+                scheduleResultCallbacks(attachedEvent, result);
+            }
+        }
+
         executeTasks(false);
     }
 
@@ -256,20 +334,47 @@ public class Dispatcher {
         }
 
         scheduleFailureCallbacks(event, failure);
+        stopCollapsing(event);
+
+        List<Event> attached = ((EventBase) event).attachedEvents;
+        if (attached != null) {
+            for (Event attachedEvent : attached) {
+                scheduleFailureCallbacks(attachedEvent, failure);
+            }
+        }
+
         executeTasks(false);
     }
 
-    // Handles finished event
+    // Events posted after running event sent its first result or failure cannot receive it
+    // anymore, so they should be executed separately
+    @MainThread
+    private void stopCollapsing(Event event) {
+        Object collapseKey = ((EventBase) event).collapseKey;
+        if (collapseKey != null) {
+            collapsingEvents.remove(collapseKey);
+            ((EventBase) event).collapseKey = null;
+        }
+    }
+
+    // Handles finished task, task is recycled afterwards
     @MainThread
     private void handleTaskFinished(Task task) {
+        finishTask(task);
+        tasksPool.recycle(task);
+    }
+
+    @MainThread
+    private void finishTask(Task task) {
         if (task.method.type != EventMethod.Type.SUBSCRIBE) {
             // We are not interested in finished callbacks, only finished subscriber calls
             return;
         }
 
         if (task.method.isSingleThread) {
-            Utils.log(task, "Single-thread method is no longer in use");
-            task.method.isInUse = false;
+            releaseSingleThreadMethod(task);
+        } else if (task.method.isKeyedSerial) {
+            releaseSerialKey(task);
         }
 
         Event event = task.event;
@@ -284,7 +389,19 @@ public class Dispatcher {
         if (((EventBase) event).handlersCount == 0) {
             // No more running handlers
             activeEvents.remove(event);
+
+            stopCollapsing(event);
+
             scheduleStatusUpdates(event, EventStatus.FINISHED);
+
+            List<Event> attached = ((EventBase) event).attachedEvents;
+            if (attached != null) {
+                for (Event attachedEvent : attached) {
+                    activeEvents.remove(attachedEvent);
+                    scheduleStatusUpdates(attachedEvent, EventStatus.FINISHED);
+                }
+            }
+
             executeTasks(false);
         }
     }
@@ -308,7 +425,8 @@ public class Dispatcher {
     private void handleTasksExecutionWrapped() {
         Utils.log("Dispatching: started");
 
-        long started = SystemClock.uptimeMillis();
+        EventsLoop loop = EventsParams.getLoop();
+        long started = loop.uptimeMillis();
 
         Task task;
         while ((task = pollExecutionTask()) != null) {
@@ -319,24 +437,19 @@ public class Dispatcher {
             }
 
             if (task.method.isBackground) {
-                if (task.method.isSingleThread) {
-                    Utils.log(task, "Single-thread method is in use now");
-                    task.method.isInUse = true;
-                }
-
                 Utils.log(task, "Executing in background");
-                backgroundExecutor.execute(task);
+                EventsParams.getExecutor(task.method.pool).execute(task);
             } else {
                 Utils.log(task, "Executing");
                 task.run();
             }
 
             // Checking that we are not spending to much time on main thread
-            long time = SystemClock.uptimeMillis() - started;
+            long time = loop.uptimeMillis() - started;
 
             if (time > EventsParams.getMaxTimeInUiThread()) {
                 if (EventsParams.isDebug()) {
-                    Log.d(Utils.TAG, "Dispatching: time in main thread "
+                    Utils.log("Dispatching: time in main thread "
                             + time + "ms > " + EventsParams.getMaxTimeInUiThread() + "ms");
                 }
                 executeTasks(true);
@@ -349,20 +462,136 @@ public class Dispatcher {
 
     @MainThread
     private Task pollExecutionTask() {
-        for (int i = 0, size = executionQueue.size(); i < size; i++) {
-            Task task = executionQueue.get(i);
-            if (!(task.method.isSingleThread && task.method.isInUse)) {
-                return executionQueue.remove(i);
+        Task task;
+        while ((task = executionQueue.poll()) != null) {
+            if (task.method.isSingleThread && !acquireSingleThreadMethod(task)) {
+                Utils.log(task, "Single-thread method is in use, waiting");
+            } else if (task.method.isKeyedSerial && !acquireSerialKey(task)) {
+                Utils.log(task, "Keyed-serial method is in use for same key, waiting");
+            } else {
+                return task;
             }
         }
         return null;
     }
 
+    // Marks single-thread method as used or adds the task to the method's waiting queue
+    @MainThread
+    private static boolean acquireSingleThreadMethod(Task task) {
+        EventMethod method = task.method;
+
+        if (!method.isInUse) {
+            Utils.log(task, "Single-thread method is in use now");
+            method.isInUse = true;
+            return true;
+        }
+
+        if (method.waitingTasks.peek() == task) {
+            // Method was passed to this task by previous task, see releaseSingleThreadMethod()
+            method.waitingTasks.poll();
+            return true;
+        }
+
+        // Task will be moved back to execution queue once method is released
+        method.waitingTasks.add(task);
+        return false;
+    }
+
+    // Passes single-thread method to the next waiting task or releases the method if there is
+    // no such task
+    @MainThread
+    private void releaseSingleThreadMethod(Task task) {
+        Task waitingTask = task.method.waitingTasks.peek();
+
+        if (waitingTask == null) {
+            Utils.log(task, "Single-thread method is no longer in use");
+            task.method.isInUse = false;
+        } else {
+            // Method stays in use, so no other task can take it before the waiting one.
+            // Waiting task stays first in queue until it is polled from execution queue.
+            executionQueue.addFirst(waitingTask);
+            executeTasks(false);
+        }
+    }
+
+    // Marks task's serial key as used or adds the task to the key's waiting queue
+    @MainThread
+    private static boolean acquireSerialKey(Task task) {
+        Map<Object, Queue<Task>> chains = task.method.serialChains;
+        Object key = task.event.getParam(0);
+
+        if (!chains.containsKey(key)) {
+            chains.put(key, null);
+            return true;
+        }
+
+        Queue<Task> chain = chains.get(key);
+        if (chain != null && chain.peek() == task) {
+            // Key was passed to this task by previous task of the chain, see releaseSerialKey()
+            chain.poll();
+            return true;
+        }
+
+        if (chain == null) {
+            chain = new ArrayDeque<>();
+            chains.put(key, chain);
+        }
+        chain.add(task);
+        return false;
+    }
+
+    // Passes serial key to the next waiting task or releases the key if there is no such task
+    @MainThread
+    private void releaseSerialKey(Task task) {
+        Map<Object, Queue<Task>> chains = task.method.serialChains;
+        Object key = task.event.getParam(0);
+
+        Queue<Task> chain = chains.get(key);
+        Task waitingTask = chain == null ? null : chain.peek();
+
+        if (waitingTask == null) {
+            Utils.log(task, "Keyed-serial method is no longer in use for this key");
+            chains.remove(key);
+        } else {
+            // Waiting task stays first in chain until it is polled from execution queue
+            executionQueue.addFirst(waitingTask);
+            executeTasks(false);
+        }
+    }
+
+    private static Priority max(Priority p1, Priority p2) {
+        return p1.compareTo(p2) >= 0 ? p1 : p2;
+    }
+
+
+    // Wraps event to look up running events by key and parameters, see Subscribe.collapse()
+    private static class CollapseKey {
+        final Event event;
+        final int hash;
+
+        CollapseKey(Event event) {
+            this.event = event;
+            this.hash = Event.deepHashCode(event);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CollapseKey && hash == ((CollapseKey) obj).hash
+                    && Event.isDeeplyEqual(event, ((CollapseKey) obj).event);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
 
     // Handler class to execute different operations on main thread
-    private static class MainThreadHandler extends Handler {
+    private static class MainThreadHandler implements EventsLoop.Receiver {
 
-        private static final long MESSAGE_DELAY = 10L;
+        // Delay used to give main thread a chance to handle other messages
+        private static final long YIELD_DELAY = 10L;
 
         private static final int MSG_REGISTER = 0;
         private static final int MSG_UNREGISTER = 1;
@@ -372,11 +601,19 @@ public class Dispatcher {
         private static final int MSG_POST_EVENT_RESULT = 4;
         private static final int MSG_POST_EVENT_FAILURE = 5;
         private static final int MSG_POST_TASK_FINISHED = 6;
+        private static final int MSG_POST_EVENTS = 7;
 
         private final Dispatcher dispatcher;
 
+        // Whether MSG_EXECUTE message is already in the queue
+        private final AtomicBoolean isExecuteScheduled = new AtomicBoolean();
+        private final AtomicLong skippedExecutes = new AtomicLong();
+
+        // Channel is created lazily to let the loop be configured before first use
+        private EventsLoop loop;
+        private EventsLoop.Channel channel;
+
         MainThreadHandler(Dispatcher dispatcher) {
-            super(Looper.getMainLooper());
             this.dispatcher = dispatcher;
         }
 
@@ -389,19 +626,43 @@ public class Dispatcher {
         }
 
         void executeTasks(boolean delay) {
-            sendDelayed(MSG_EXECUTE, null, delay);
+            if (!delay && EventsParams.getLoop().isLoopThread()) {
+                handleMessageId(MSG_EXECUTE, null);
+            } else if (isExecuteScheduled.compareAndSet(false, true)) {
+                sendDelayed(MSG_EXECUTE, null, delay);
+            } else {
+                // Pending execution message will handle all the tasks anyway
+                skippedExecutes.incrementAndGet();
+            }
+        }
+
+        long getSkippedExecutesCount() {
+            return skippedExecutes.get();
         }
 
         void postEvent(Event event) {
             sendDelayed(MSG_POST_EVENT, event, false);
         }
 
+        void postEvents(List<Event> events) {
+            sendDelayed(MSG_POST_EVENTS, events, false);
+        }
+
         void postEventResult(Event event, EventResult result) {
-            sendDelayed(MSG_POST_EVENT_RESULT, new Object[] { event, result }, false);
+            if (EventsParams.getLoop().isLoopThread()) {
+                // Handling right away, no need to wrap the data
+                dispatcher.handleEventResult(event, result);
+            } else {
+                sendDelayed(MSG_POST_EVENT_RESULT, new Object[] { event, result }, false);
+            }
         }
 
         void postEventFailure(Event event, EventFailure failure) {
-            sendDelayed(MSG_POST_EVENT_FAILURE, new Object[] { event, failure }, false);
+            if (EventsParams.getLoop().isLoopThread()) {
+                dispatcher.handleEventFailure(event, failure);
+            } else {
+                sendDelayed(MSG_POST_EVENT_FAILURE, new Object[] { event, failure }, false);
+            }
         }
 
         void postTaskFinished(Task task) {
@@ -409,16 +670,33 @@ public class Dispatcher {
         }
 
         private void sendDelayed(int msgId, Object data, boolean forceDelay) {
-            if (!forceDelay && getLooper() == Looper.myLooper()) {
+            EventsLoop currentLoop = EventsParams.getLoop();
+
+            if (forceDelay) {
+                getChannel(currentLoop).send(msgId, data, YIELD_DELAY, false);
+            } else if (currentLoop.isLoopThread()) {
                 handleMessageId(msgId, data);
             } else {
-                sendMessageDelayed(obtainMessage(msgId, data), MESSAGE_DELAY);
+                DispatchMode mode = EventsParams.getDispatchMode();
+                long delay = mode == DispatchMode.DELAYED ? EventsParams.getDispatchDelay() : 0L;
+                getChannel(currentLoop).send(msgId, data, delay, mode == DispatchMode.ASYNC);
             }
         }
 
+        private synchronized EventsLoop.Channel getChannel(EventsLoop currentLoop) {
+            if (loop != currentLoop) {
+                loop = currentLoop;
+                channel = currentLoop.createChannel(this);
+            }
+            return channel;
+        }
+
         @Override
-        public void handleMessage(@NonNull Message msg) {
-            handleMessageId(msg.what, msg.obj);
+        public void onMessage(int what, Object obj) {
+            if (what == MSG_EXECUTE) {
+                isExecuteScheduled.set(false);
+            }
+            handleMessageId(what, obj);
         }
 
         private void handleMessageId(int msgId, Object obj) {
@@ -439,6 +717,12 @@ public class Dispatcher {
                     dispatcher.handleEventPost((Event) obj);
                     break;
                 }
+                case MSG_POST_EVENTS: {
+                    @SuppressWarnings("unchecked")
+                    List<Event> events = (List<Event>) obj;
+                    dispatcher.handleEventsPost(events);
+                    break;
+                }
                 case MSG_POST_EVENT_RESULT: {
                     Object[] data = (Object[]) obj;
                     dispatcher.handleEventResult((Event) data[0], (EventResult) data[1]);
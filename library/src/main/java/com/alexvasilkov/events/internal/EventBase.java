@@ -1,10 +1,33 @@
 package com.alexvasilkov.events.internal;
 
+import com.alexvasilkov.events.Event;
+import com.alexvasilkov.events.Priority;
+
+import java.util.List;
+
 /**
  * Internal Event's stuff.
  */
 public class EventBase {
 
+    // Interned event key, see EventKeys
+    final int keyId;
+    // Key ids of all event types for class-keyed events or null, see EventTypes
+    final int[] hierarchy;
+
+    // Priority of event's tasks, resolved once event is posted
+    Priority dispatchPriority;
+
     int handlersCount;
 
+    // Lookup key of running collapsing event and events attached to its execution,
+    // see Dispatcher and Events.Subscribe.collapse()
+    Object collapseKey;
+    List<Event> attachedEvents;
+
+    protected EventBase(int keyId, int[] hierarchy) {
+        this.keyId = keyId;
+        this.hierarchy = hierarchy;
+    }
+
 }
@@ -0,0 +1,86 @@
+package com.alexvasilkov.events.internal;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interning table which assigns dense int ids to event keys, so that keys can be compared as ints
+ * and per-key structures can be stored in arrays indexed by key id.
+ * <p/>
+ * Ids are never released, event keys are expected to be a limited set of constants.
+ */
+public class EventKeys {
+
+    static final char SEPARATOR = '.';
+    static final String WILDCARD = "*";
+    private static final String WILDCARD_SUFFIX = SEPARATOR + WILDCARD;
+
+    private static final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private static int nextId;
+
+    private EventKeys() {
+        // No instances
+    }
+
+    /**
+     * Returns id of given key, new id is assigned if key is not known yet.
+     * Can be called from any thread.
+     */
+    public static int intern(@NonNull String key) {
+        Integer id = ids.get(key);
+        return id == null ? register(key) : id;
+    }
+
+    // Ids are assigned under lock to keep them dense
+    private static int register(String key) {
+        synchronized (ids) {
+            Integer id = ids.get(key);
+            if (id == null) {
+                id = nextId++;
+                ids.put(key, id);
+            }
+            return id;
+        }
+    }
+
+
+    /**
+     * Whether given key is a wildcard pattern: either {@code *} or {@code prefix.*}.
+     */
+    public static boolean isWildcard(@NonNull String key) {
+        return WILDCARD.equals(key) || key.endsWith(WILDCARD_SUFFIX);
+    }
+
+    /**
+     * Whether given event key is matched by given wildcard pattern. Wildcard should be followed
+     * by at least one key segment, i.e. {@code data.*} matches {@code data.repo} but not
+     * {@code data}. Class-keyed events and reserved keys are never matched.
+     */
+    static boolean matches(@NonNull String pattern, @NonNull String key) {
+        if (!isWildcard(pattern) || !isWildcardTarget(key)) {
+            return false;
+        }
+        if (WILDCARD.equals(pattern)) {
+            return true;
+        }
+        // Prefix including trailing separator
+        int prefixLength = pattern.length() - 1;
+        return key.length() > prefixLength && key.startsWith(pattern.substring(0, prefixLength));
+    }
+
+    static boolean isWildcardTarget(@NonNull String key) {
+        return !EventTypes.isTypeKey(key) && !EventsParams.EMPTY_KEY.equals(key);
+    }
+
+    // Splits "a.b.*" into ["a", "b"], "*" gives no segments
+    static String[] getWildcardSegments(String pattern) {
+        if (WILDCARD.equals(pattern)) {
+            return new String[0];
+        }
+        String prefix = pattern.substring(0, pattern.length() - WILDCARD_SUFFIX.length());
+        return prefix.split("\\" + SEPARATOR, -1);
+    }
+
+}
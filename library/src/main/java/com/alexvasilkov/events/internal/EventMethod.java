@@ -6,278 +6,287 @@ import com.alexvasilkov.events.Event;
 import com.alexvasilkov.events.EventFailure;
 import com.alexvasilkov.events.EventResult;
 import com.alexvasilkov.events.EventStatus;
+import com.alexvasilkov.events.Events.Background;
+import com.alexvasilkov.events.Priority;
 import com.alexvasilkov.events.cache.CacheProvider;
+import com.alexvasilkov.events.index.InvokerFactory;
+import com.alexvasilkov.events.index.MethodInvoker;
 
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
 
 class EventMethod {
 
+    private static final Object[] NO_ARGS = new Object[0];
+
     enum Type {
         SUBSCRIBE, STATUS, RESULT, FAILURE
     }
 
     final Method javaMethod;
+    // Generated or factory created invoker, if available
+    final MethodInvoker invoker;
     final Type type;
     final String eventKey;
+    final int keyId;
+    final boolean isWildcard;
 
     final boolean isBackground;
     final boolean isSingleThread;
+    final boolean isKeyedSerial;
+    // Background pool name, see Events.Background.pool()
+    final String pool;
+    final Priority priority;
+    // Whether deeply equal events can share single execution, see Events.Subscribe.collapse()
+    final boolean isCollapsing;
     final CacheProvider cache;
 
     final boolean isStatic;
     final boolean hasReturnType;
     final Class<?>[] params;
+    // Parameters types with primitives replaced by their wrappers, see isApplicable()
+    private final Class<?>[] boxedParams;
+    private final boolean hasEventArg;
+    private final Binder binder;
 
     boolean isInUse;
-
-    EventMethod(Method javaMethod, Type type, String eventKey, boolean isStatic, boolean hasReturn,
-            boolean isBackground, boolean isSingleThread, CacheProvider cache) {
+    // Tasks waiting for single-thread method to be released, in posting order
+    final Queue<Task> waitingTasks;
+    // Serial keys which are currently in use, mapped to tasks waiting for the same key (if any)
+    final Map<Object, Queue<Task>> serialChains;
+
+    EventMethod(Method javaMethod, MethodInvoker invoker, Type type, String eventKey,
+            boolean isStatic, boolean hasReturn, boolean isBackground, boolean isSingleThread,
+            boolean isKeyedSerial, String pool, Priority priority, boolean isCollapsing,
+            CacheProvider cache) {
         this.javaMethod = javaMethod;
         this.type = type;
         this.eventKey = eventKey;
+        this.keyId = EventKeys.intern(eventKey);
+        this.isWildcard = EventKeys.isWildcard(eventKey);
 
         this.isBackground = isBackground;
         this.isSingleThread = isSingleThread;
+        // Single thread execution already implies serial execution for each key
+        this.isKeyedSerial = isKeyedSerial && !isSingleThread;
+        this.pool = pool;
+        this.priority = priority;
+        this.isCollapsing = isCollapsing;
         this.cache = cache;
+        this.waitingTasks = isSingleThread ? new ArrayDeque<Task>() : null;
+        this.serialChains = this.isKeyedSerial ? new HashMap<Object, Queue<Task>>() : null;
 
         javaMethod.setAccessible(true);
+        this.invoker = invoker == null ? createInvoker(javaMethod) : invoker;
 
         this.isStatic = isStatic;
         this.hasReturnType = hasReturn;
         this.params = javaMethod.getParameterTypes();
+        this.boxedParams = new Class<?>[params.length];
+        for (int i = 0; i < params.length; i++) {
+            boxedParams[i] = box(params[i]);
+        }
 
-        // Checks that method has correct signature
-        fillAndCheckArgs(null, null, null, null, null);
+        // Resolving method's signature once, it also checks that signature is correct
+        this.hasEventArg = params.length > 0 && params[0] == Event.class;
+        this.binder = resolveBinder();
+    }
+
+    EventMethod(Method javaMethod, Type type, String eventKey, boolean isStatic, boolean hasReturn,
+            boolean isBackground, boolean isSingleThread, boolean isKeyedSerial, String pool,
+            Priority priority, boolean isCollapsing, CacheProvider cache) {
+        this(javaMethod, null, type, eventKey, isStatic, hasReturn, isBackground, isSingleThread,
+                isKeyedSerial, pool, priority, isCollapsing, cache);
+    }
+
+    EventMethod(Method javaMethod, Type type, String eventKey, boolean isStatic,
+            Priority priority) {
+        this(javaMethod, type, eventKey, isStatic, false, false, false, false, Background.DEFAULT,
+                priority, false, null);
     }
 
     EventMethod(Method javaMethod, Type type, String eventKey, boolean isStatic) {
-        this(javaMethod, type, eventKey, isStatic, false, false, false, null);
+        this(javaMethod, type, eventKey, isStatic, Priority.NORMAL);
+    }
+
+
+    private static MethodInvoker createInvoker(Method javaMethod) {
+        InvokerFactory factory = EventsParams.getInvokerFactory();
+        return factory == null ? null : factory.create(javaMethod);
     }
 
 
     Object[] args(Event event, @Nullable EventStatus status, @Nullable EventResult result,
             @Nullable EventFailure failure) {
-
-        Object[] args = new Object[params.length];
-        fillAndCheckArgs(args, event, status, result, failure);
-        return args;
+        return args(event, status, result, failure, null);
     }
 
-    private void fillAndCheckArgs(@Nullable Object[] args, @Nullable Event event,
-            @Nullable EventStatus status, @Nullable EventResult result,
-            @Nullable EventFailure failure) {
-        switch (type) {
-            case SUBSCRIBE:
-                subscribeArgs(args, event);
+    // Fills given array if it has the right size, new array is created otherwise
+    Object[] args(Event event, @Nullable EventStatus status, @Nullable EventResult result,
+            @Nullable EventFailure failure, @Nullable Object[] reuse) {
+
+        if (params.length == 0) {
+            return NO_ARGS;
+        }
+
+        Object[] args = reuse != null && reuse.length == params.length
+                ? reuse : new Object[params.length];
+        int start = 0;
+
+        if (hasEventArg) {
+            args[start++] = event;
+        }
+
+        switch (binder) {
+            case PARAMS:
+                for (int i = start; i < args.length; i++) {
+                    args[i] = toParamType(event.getParam(i - start), params[i]);
+                }
+                break;
+            case RESULTS:
+                if (result != null) {
+                    for (int i = start; i < args.length; i++) {
+                        args[i] = toParamType(result.getResult(i - start), params[i]);
+                    }
+                }
                 break;
             case STATUS:
-                statusArgs(args, event, status);
+                args[start] = status;
                 break;
             case RESULT:
-                resultArgs(args, event, result);
+                args[start] = result;
+                break;
+            case ERROR:
+                args[start] = failure == null ? null : failure.getError();
                 break;
             case FAILURE:
-                failureArgs(args, event, failure);
+                args[start] = failure;
                 break;
+            case NONE:
             default:
         }
-    }
 
+        return args;
+    }
 
-    private void subscribeArgs(@Nullable Object[] args, @Nullable Event event) {
-        // Allowed parameters: [], [Event], [Event, Params...], [Params...]
 
-        if (params.length > 0) {
-            if (params[0] == Event.class) {
-                // [Event, ...?]
-                if (args != null) {
-                    args[0] = event;
-                }
-
-                if (params.length > 1) {
-                    // Detected [Event, Params...]
-                    if (args != null && event != null) {
-                        for (int i = 1; i < params.length; i++) {
-                            args[i] = event.getParam(i - 1);
-                        }
-                    }
-                }
-                // Otherwise:
-                // Detected [Event]
-            } else {
-                // Detected [Params...]
-                if (args != null && event != null) {
-                    for (int i = 0; i < params.length; i++) {
-                        args[i] = event.getParam(i);
-                    }
-                }
+    // Checks that arguments have types expected by the method. Invokers cast arguments on their
+    // own, so type mismatch should be detected before calling them, otherwise it will be reported
+    // as method's own failure.
+    boolean isApplicable(Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null ? params[i].isPrimitive() : !boxedParams[i].isInstance(arg)) {
+                return false;
             }
         }
-        // Otherwise:
-        // Detected []
+        return true;
     }
 
-    private void statusArgs(@Nullable Object[] args, @Nullable Event event,
-            @Nullable EventStatus status) {
-
-        final String msg = "Allowed parameters: [EventStatus] or [Event, EventStatus]";
-
-        if (params.length == 0) {
-            // Wrong []
-            throw Utils.toException(eventKey, this, msg);
-        } else if (params[0] == Event.class) {
-            // [Event, ...?]
-            if (args != null) {
-                args[0] = event;
-            }
-
-            if (params.length == 2 && params[1] == EventStatus.class) {
-                // Detected [Event, EventStatus]
-                if (args != null) {
-                    args[1] = status;
-                }
-            } else {
-                // Wrong [Event] or [Event, Unknown...]
-                throw Utils.toException(eventKey, this, msg);
-            }
-        } else if (params[0] == EventStatus.class) {
-            // [EventStatus, ...?]
-            if (args != null) {
-                args[0] = status;
-            }
-
-            if (params.length > 1) {
-                // Wrong [EventStatus, Unknown...]
-                throw Utils.toException(eventKey, this, msg);
-            }
-            // Otherwise:
-            // Detected [EventStatus]
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        } else if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == short.class) {
+            return Short.class;
         } else {
-            // Wrong [Unknown...]
-            throw Utils.toException(eventKey, this, msg);
+            return Character.class;
         }
     }
 
-    private void resultArgs(@Nullable Object[] args, @Nullable Event event,
-            @Nullable EventResult result) {
-
-        final String msg = "Allowed parameters: [], [Event], [Event, Results...], "
-                + "[Event, EventResult], [Results...] or [EventResult]";
-
-        if (params.length > 0) {
-            if (params[0] == Event.class) {
-                // [Event, ...?]
-                if (args != null) {
-                    args[0] = event;
-                }
-
-                if (params.length > 1 && params[1] == EventResult.class) {
-                    // [Event, EventResult, ...?]
-                    if (args != null) {
-                        args[1] = result;
-                    }
-
-                    if (params.length > 2) {
-                        // Wrong [Event, EventResult, Results...]
-                        throw Utils.toException(eventKey, this, msg);
-                    }
-                    // Otherwise:
-                    // Detected [Event, EventResult]
-                } else if (params.length > 1) {
-                    // Detected [Event, Results...]
-                    if (args != null) {
-                        for (int i = 1; i < params.length; i++) {
-                            args[i] = result == null ? null : result.getResult(i - 1);
-                        }
-                    }
-                }
-                // Otherwise:
-                // Detected [Event]
-            } else if (params[0] == EventResult.class) {
-                // [EventResult, ...?]
-                if (args != null) {
-                    args[0] = result;
-                }
-
-                if (params.length > 1) {
-                    // Wrong [EventResult, Results...]
-                    throw Utils.toException(eventKey, this, msg);
-                }
-                // Otherwise:
-                // Detected [EventResult]
-            } else {
-                // Detected [Results...]
-                if (args != null) {
-                    for (int i = 0; i < params.length; i++) {
-                        args[i] = result == null ? null : result.getResult(i);
-                    }
-                }
-            }
-            // Otherwise:
-            // Detected []
+    // Widens int and long values passed to long and double parameters, same as reflection does.
+    // Method handles based invokers cannot widen boxed primitives on their own.
+    private static Object toParamType(Object value, Class<?> type) {
+        if (type == long.class && value instanceof Integer) {
+            return ((Integer) value).longValue();
+        } else if (type == double.class && (value instanceof Integer || value instanceof Long)) {
+            return ((Number) value).doubleValue();
+        } else {
+            return value;
         }
     }
 
-    private void failureArgs(@Nullable Object[] args, @Nullable Event event,
-            @Nullable EventFailure failure) {
+    // Detects method's signature and checks that it is allowed for method's type
+    private Binder resolveBinder() {
+        int start = hasEventArg ? 1 : 0;
+        int count = params.length - start;
+        Class<?> first = count > 0 ? params[start] : null;
 
-        final String msg = "Allowed parameters: [], [Event], [Event, Throwable], "
-                + "[Event, EventFailure], [Throwable] or [EventFailure]";
+        switch (type) {
+            case SUBSCRIBE:
+                // Allowed parameters: [], [Event], [Event, Params...], [Params...]
+                return count == 0 ? Binder.NONE : Binder.PARAMS;
 
-        if (params.length > 0) {
-            if (params[0] == Event.class) {
-                // [Event, ...?]
-                if (args != null) {
-                    args[0] = event;
+            case STATUS:
+                if (count == 1 && first == EventStatus.class) {
+                    // Detected [Event, EventStatus] or [EventStatus]
+                    return Binder.STATUS;
                 }
+                throw Utils.toException(eventKey, this,
+                        "Allowed parameters: [EventStatus] or [Event, EventStatus]");
 
-                if (params.length == 2 && params[1] == Throwable.class) {
-                    // Detected [Event, Throwable]
-                    if (args != null && failure != null) {
-                        args[1] = failure.getError();
-                    }
-                } else if (params.length == 2 && params[1] == EventFailure.class) {
-                    // Detected [Event, EventFailure]
-                    if (args != null) {
-                        args[1] = failure;
-                    }
-                } else if (params.length > 1) {
-                    // Wrong [Event, Unknown...]
-                    throw Utils.toException(eventKey, this, msg);
-                }
-                // Otherwise:
-                // Detected [Event]
-            } else if (params[0] == Throwable.class) {
-                // [Throwable, ...?]
-                if (args != null && failure != null) {
-                    args[0] = failure.getError();
+            case RESULT:
+                if (count == 0) {
+                    // Detected [] or [Event]
+                    return Binder.NONE;
+                } else if (first != EventResult.class) {
+                    // Detected [Event, Results...] or [Results...]
+                    return Binder.RESULTS;
+                } else if (count == 1) {
+                    // Detected [Event, EventResult] or [EventResult]
+                    return Binder.RESULT;
                 }
+                throw Utils.toException(eventKey, this,
+                        "Allowed parameters: [], [Event], [Event, Results...], "
+                                + "[Event, EventResult], [Results...] or [EventResult]");
 
-                if (params.length > 1) {
-                    // Wrong [Throwable, Unknown...]
-                    throw Utils.toException(eventKey, this, msg);
-                }
-                // Otherwise:
-                // Detected [Throwable]
-            } else if (params[0] == EventFailure.class) {
-                // [EventFailure, ...?]
-                if (args != null) {
-                    args[0] = failure;
+            case FAILURE:
+                if (count == 0) {
+                    // Detected [] or [Event]
+                    return Binder.NONE;
+                } else if (count == 1 && first == Throwable.class) {
+                    // Detected [Event, Throwable] or [Throwable]
+                    return Binder.ERROR;
+                } else if (count == 1 && first == EventFailure.class) {
+                    // Detected [Event, EventFailure] or [EventFailure]
+                    return Binder.FAILURE;
                 }
+                throw Utils.toException(eventKey, this,
+                        "Allowed parameters: [], [Event], [Event, Throwable], "
+                                + "[Event, EventFailure], [Throwable] or [EventFailure]");
 
-                if (params.length > 1) {
-                    // Wrong [EventFailure, Unknown...]
-                    throw Utils.toException(eventKey, this, msg);
-                }
-                // Otherwise:
-                // Detected [EventFailure]
-            } else {
-                // Wrong [Unknown...]
-                throw Utils.toException(eventKey, this, msg);
-            }
+            default:
+                throw new IllegalArgumentException("Unknown method type: " + type);
         }
-        // Otherwise:
-        // Detected []
+    }
+
+
+    /**
+     * Describes how values are bound to method's arguments which follow optional {@link Event}
+     * argument.
+     */
+    private enum Binder {
+        NONE, // No other arguments
+        PARAMS, // Event's params, starting from first one
+        RESULTS, // Result's values, starting from first one
+        STATUS, // EventStatus
+        RESULT, // EventResult
+        ERROR, // Throwable from EventFailure
+        FAILURE // EventFailure
     }
 
 }
@@ -1,8 +1,8 @@
 package com.alexvasilkov.events.internal;
 
 import android.support.annotation.NonNull;
-import android.util.Log;
 
+import com.alexvasilkov.events.Event;
 import com.alexvasilkov.events.Events.Background;
 import com.alexvasilkov.events.Events.Cache;
 import com.alexvasilkov.events.Events.Failure;
@@ -11,6 +11,8 @@ import com.alexvasilkov.events.Events.Status;
 import com.alexvasilkov.events.Events.Subscribe;
 import com.alexvasilkov.events.EventsException;
 import com.alexvasilkov.events.cache.CacheProvider;
+import com.alexvasilkov.events.index.EventsIndex;
+import com.alexvasilkov.events.index.IndexedMethod;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
@@ -18,14 +20,17 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 class EventMethodsHelper {
 
-    private static final Map<Class<?>, List<EventMethod>> cacheStatic = new HashMap<>();
-    private static final Map<Class<?>, List<EventMethod>> cacheInstance = new HashMap<>();
+    // Methods can be collected ahead of time from background thread, see preload()
+    private static final ConcurrentMap<Class<?>, List<EventMethod>> cacheStatic =
+            new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, List<EventMethod>> cacheInstance =
+            new ConcurrentHashMap<>();
 
     private EventMethodsHelper() {
         // No instances
@@ -43,8 +48,23 @@ class EventMethodsHelper {
         }
     }
 
+    /**
+     * Collects and validates both static and non-static annotated methods of given class, so that
+     * later registration will only need a cache look up. Can be called from any thread.
+     */
+    static void preload(@NonNull Class<?> clazz) {
+        getMethodsFromClass(clazz, true);
+        getMethodsFromClass(clazz, false);
+    }
+
+    // Drops all collected methods, used to measure cold registration in benchmarks
+    static void clearCache() {
+        cacheStatic.clear();
+        cacheInstance.clear();
+    }
+
     private static List<EventMethod> getMethodsFromClass(Class<?> clazz, boolean statics) {
-        Map<Class<?>, List<EventMethod>> cache = statics ? cacheStatic : cacheInstance;
+        ConcurrentMap<Class<?>, List<EventMethod>> cache = statics ? cacheStatic : cacheInstance;
         List<EventMethod> methods = cache.get(clazz);
 
         if (methods == null) {
@@ -54,7 +74,7 @@ class EventMethodsHelper {
 
             if (EventsParams.isDebug()) {
                 long time = System.nanoTime() - start;
-                Log.d(Utils.TAG, String.format("Collecting %d methods of %s in %.3f ms",
+                Utils.log(String.format("Collecting %d methods of %s in %.3f ms",
                         methods.size(), clazz.getName(), time / 1e6d));
             }
         }
@@ -64,7 +84,7 @@ class EventMethodsHelper {
 
     @NonNull
     private static List<EventMethod> collectMethodsRecursively(Class<?> clazz,
-            Map<Class<?>, List<EventMethod>> cache, boolean statics) {
+            ConcurrentMap<Class<?>, List<EventMethod>> cache, boolean statics) {
 
         List<EventMethod> list = cache.get(clazz);
 
@@ -83,10 +103,102 @@ class EventMethodsHelper {
                 list.addAll(superList);
             }
 
-            // Now collecting methods from current class and store result in cache
-            collectMethods(clazz, list, statics);
-            cache.put(clazz, list);
-            return list;
+            // Now collecting methods from current class and store result in cache.
+            // Compile time index is used if available, then stored snapshot and reflection
+            // is used otherwise.
+            IndexedMethod[] indexed = findIndexedMethods(clazz);
+            if (indexed != null) {
+                collectIndexedMethods(clazz, indexed, list, statics);
+            } else if (!collectSnapshotMethods(clazz, list, statics)) {
+                int start = list.size();
+                collectMethods(clazz, list, statics);
+
+                MethodsSnapshot snapshot = EventsParams.getSnapshot();
+                if (snapshot != null) {
+                    snapshot.put(clazz, statics, list.subList(start, list.size()));
+                }
+            }
+
+            // Same class can be collected concurrently, only first result is kept
+            List<EventMethod> existing = cache.putIfAbsent(clazz, list);
+            return existing == null ? list : existing;
+        }
+    }
+
+    private static IndexedMethod[] findIndexedMethods(Class<?> clazz) {
+        for (EventsIndex index : EventsParams.getIndexes()) {
+            IndexedMethod[] methods = index.getMethods(clazz.getName());
+            if (methods != null) {
+                return methods;
+            }
+        }
+        return null;
+    }
+
+    // Annotations are already validated by annotation processor, so only looking up java methods
+    private static void collectIndexedMethods(Class<?> clazz, IndexedMethod[] indexed,
+            List<EventMethod> list, boolean statics) {
+
+        for (IndexedMethod im : indexed) {
+            if (im.isStatic != statics) {
+                continue;
+            }
+
+            Method m;
+            try {
+                m = clazz.getDeclaredMethod(im.name, im.params);
+            } catch (NoSuchMethodException e) {
+                throw new EventsException("Indexed method " + im.name + " is not found in "
+                        + clazz.getName() + ", events index is out of date", e);
+            }
+
+            list.add(toEventMethod(m, im));
+        }
+    }
+
+    // Snapshot is not validated at compile time, so falling back to reflection if methods
+    // cannot be found
+    private static boolean collectSnapshotMethods(Class<?> clazz, List<EventMethod> list,
+            boolean statics) {
+
+        MethodsSnapshot snapshot = EventsParams.getSnapshot();
+        IndexedMethod[] stored = snapshot == null ? null : snapshot.getMethods(clazz, statics);
+        if (stored == null) {
+            return false;
+        }
+
+        List<EventMethod> found = new ArrayList<>(stored.length);
+        for (IndexedMethod im : stored) {
+            try {
+                found.add(toEventMethod(clazz.getDeclaredMethod(im.name, im.params), im));
+            } catch (NoSuchMethodException e) {
+                Utils.log(clazz, "Methods snapshot is out of date, using reflection");
+                return false;
+            }
+        }
+        list.addAll(found);
+        return true;
+    }
+
+    private static EventMethod toEventMethod(Method m, IndexedMethod im) {
+        CacheProvider cache = im.cache == null ? null : newCacheProvider(im.cache, m);
+
+        return new EventMethod(m, im.invoker, toType(im.type), im.eventKey, im.isStatic,
+                im.hasReturnType, im.isBackground, im.isSingleThread, im.isKeyedSerial, im.pool,
+                im.priority, im.isCollapsing, cache);
+    }
+
+    private static EventMethod.Type toType(Class<? extends Annotation> an) {
+        if (an == Subscribe.class) {
+            return EventMethod.Type.SUBSCRIBE;
+        } else if (an == Status.class) {
+            return EventMethod.Type.STATUS;
+        } else if (an == Result.class) {
+            return EventMethod.Type.RESULT;
+        } else if (an == Failure.class) {
+            return EventMethod.Type.FAILURE;
+        } else {
+            throw new EventsException("Unknown indexed method type: " + an);
         }
     }
 
@@ -108,16 +220,24 @@ class EventMethodsHelper {
 
                 // No method's parameters check is required here since any combination is valid
 
-                String key = m.getAnnotation(Subscribe.class).value();
-
-                boolean isBack = m.isAnnotationPresent(Background.class);
-                boolean isSingle = isBack && m.getAnnotation(Background.class).singleThread();
+                Subscribe subscribe = m.getAnnotation(Subscribe.class);
+                String key = subscribe.value();
+                if (EventsParams.EMPTY_KEY.equals(key)) {
+                    key = EventTypes.toKey(getEventType(m));
+                }
+
+                Background background = m.getAnnotation(Background.class);
+                boolean isBack = background != null;
+                boolean isSingle = isBack && background.singleThread();
+                boolean isKeyed = isBack && background.keyedSerial();
+                String pool = isBack ? background.pool() : Background.DEFAULT;
                 boolean hasReturn = !m.getReturnType().equals(Void.TYPE);
 
                 CacheProvider cache = getCacheProvider(m);
 
                 info = new EventMethod(m, EventMethod.Type.SUBSCRIBE, key, statics, hasReturn,
-                        isBack, isSingle, cache);
+                        isBack, isSingle, isKeyed, pool, subscribe.priority(), subscribe.collapse(),
+                        cache);
 
             } else if (m.isAnnotationPresent(Status.class)) {
 
@@ -136,8 +256,9 @@ class EventMethodsHelper {
 
                 checkNoReturn(m, Result.class);
 
-                String key = m.getAnnotation(Result.class).value();
-                info = new EventMethod(m, EventMethod.Type.RESULT, key, statics);
+                Result result = m.getAnnotation(Result.class);
+                info = new EventMethod(m, EventMethod.Type.RESULT, result.value(), statics,
+                        result.priority());
 
             } else if (m.isAnnotationPresent(Failure.class)) {
 
@@ -187,6 +308,21 @@ class EventMethodsHelper {
         }
     }
 
+    // Returns type of class-keyed event which is expected as method's last parameter
+    private static Class<?> getEventType(Method method) {
+        Class<?>[] params = method.getParameterTypes();
+        boolean hasEvent = params.length > 0 && params[0] == Event.class;
+        Class<?> type = params.length == (hasEvent ? 2 : 1) ? params[params.length - 1] : null;
+
+        if (type == null || type.isPrimitive() || type.isArray() || type == Event.class) {
+            throw new EventsException("Method " + Utils.methodToString(method)
+                    + " marked with @" + Subscribe.class.getSimpleName() + " without event key"
+                    + " should have single parameter of event type, optionally preceded by "
+                    + Event.class.getSimpleName());
+        }
+        return type;
+    }
+
     private static void checkNoReturn(Method method, Class<? extends Annotation> an) {
         if (!method.getReturnType().equals(Void.TYPE)) {
             throw new EventsException("Method " + Utils.methodToString(method)
@@ -201,8 +337,11 @@ class EventMethodsHelper {
         }
 
         Cache an = javaMethod.getAnnotation(Cache.class);
-        Class<? extends CacheProvider> cacheClazz = an.value();
+        return newCacheProvider(an.value(), javaMethod);
+    }
 
+    private static CacheProvider newCacheProvider(Class<? extends CacheProvider> cacheClazz,
+            Method javaMethod) {
         try {
             Constructor<? extends CacheProvider> constructor = cacheClazz.getDeclaredConstructor();
             constructor.setAccessible(true);
@@ -7,6 +7,9 @@ class EventTarget {
     volatile Object targetObj;
     final List<EventMethod> methods;
 
+    // Subscriptions of this target, in same order as methods, see SubscriptionsIndex
+    Subscription[] subscriptions;
+
     EventTarget(Object targetObj) {
         this.targetObj = targetObj;
         this.methods = EventMethodsHelper.getMethodsForTarget(targetObj);
@@ -0,0 +1,94 @@
+package com.alexvasilkov.events.internal;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keys of class-keyed events. Each class is mapped to a reserved event key and to the list of
+ * interned keys of all its super classes and interfaces, so that polymorphic subscribers can be
+ * found with a few index look ups.
+ * <p/>
+ * Hierarchy of each class is resolved only once and cached.
+ */
+public class EventTypes {
+
+    static final String KEY_PREFIX = "com.alexvasilkov.events.internal#TYPE#";
+
+    private static final ConcurrentMap<Class<?>, EventType> types = new ConcurrentHashMap<>();
+
+    private EventTypes() {
+        // No instances
+    }
+
+    /**
+     * Returns cached type info for given event class. Can be called from any thread.
+     */
+    @NonNull
+    public static EventType get(@NonNull Class<?> clazz) {
+        EventType type = types.get(clazz);
+        if (type == null) {
+            type = new EventType(toKey(clazz), resolveHierarchy(clazz));
+            EventType existing = types.putIfAbsent(clazz, type);
+            type = existing == null ? type : existing;
+        }
+        return type;
+    }
+
+    // Returns event key used by subscribers of given type
+    static String toKey(Class<?> clazz) {
+        return KEY_PREFIX + clazz.getName();
+    }
+
+    public static boolean isTypeKey(@NonNull String key) {
+        return key.startsWith(KEY_PREFIX);
+    }
+
+    // Collects key ids of class itself, its super classes and then all interfaces
+    private static int[] resolveHierarchy(Class<?> clazz) {
+        List<Class<?>> classes = new ArrayList<>();
+        for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+            classes.add(c);
+        }
+        for (int i = 0, size = classes.size(); i < size; i++) {
+            collectInterfaces(classes.get(i), classes);
+        }
+        classes.add(Object.class);
+
+        int[] ids = new int[classes.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = EventKeys.intern(toKey(classes.get(i)));
+        }
+        return ids;
+    }
+
+    private static void collectInterfaces(Class<?> clazz, List<Class<?>> classes) {
+        for (Class<?> i : clazz.getInterfaces()) {
+            if (!classes.contains(i)) {
+                classes.add(i);
+                collectInterfaces(i, classes);
+            }
+        }
+    }
+
+
+    /**
+     * Class-keyed event info.
+     */
+    public static class EventType {
+        public final String key;
+        public final int keyId;
+        // Key ids of all types which can receive this event, including type itself
+        public final int[] hierarchy;
+
+        EventType(String key, int[] hierarchy) {
+            this.key = key;
+            this.keyId = hierarchy[0];
+            this.hierarchy = hierarchy;
+        }
+    }
+
+}
@@ -1,11 +1,44 @@
 package com.alexvasilkov.events.internal;
 
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.alexvasilkov.events.DispatchMode;
+import com.alexvasilkov.events.Events.Background;
+import com.alexvasilkov.events.executor.PoolExecutor;
+import com.alexvasilkov.events.executor.VirtualThreadExecutor;
+import com.alexvasilkov.events.index.EventsIndex;
+import com.alexvasilkov.events.index.InvokerFactory;
+import com.alexvasilkov.events.loop.AndroidLoop;
+import com.alexvasilkov.events.loop.EventsLoop;
+import com.alexvasilkov.events.loop.JvmLoop;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
 public class EventsParams {
 
     public static final String EMPTY_KEY = "com.alexvasilkov.events.internal#EMPTY";
 
+    // Method handles based invokers, available from 'events-jvm' module
+    private static final String JVM_INVOKER_FACTORY =
+            "com.alexvasilkov.events.jvm.MethodHandleInvokerFactory";
+
     private static boolean debug;
     private static long maxTimeInUiThread = 10L;
+    private static volatile DispatchMode dispatchMode = DispatchMode.DELAYED;
+    private static volatile long dispatchDelay = 10L;
+    private static volatile EventsLoop loop;
+    private static volatile boolean isReflectionFallbackEnabled = true;
+    private static volatile InvokerFactory invokerFactory = createDefaultInvokerFactory();
+    private static volatile MethodsSnapshot snapshot;
+    private static volatile boolean isPoolingEnabled;
+    // Background executors by pool name, created lazily
+    private static final ConcurrentMap<String, Executor> executors = new ConcurrentHashMap<>();
+    private static final List<EventsIndex> indexes = new CopyOnWriteArrayList<>();
 
     private EventsParams() {
         // No instances
@@ -27,4 +60,157 @@ public class EventsParams {
         return maxTimeInUiThread;
     }
 
+    public static void setDispatchMode(@NonNull DispatchMode mode) {
+        if (mode == null) {
+            throw new NullPointerException("Dispatch mode cannot be null");
+        }
+        dispatchMode = mode;
+    }
+
+    static DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    public static void setDispatchDelay(long delay) {
+        if (delay < 0L) {
+            throw new IllegalArgumentException("Dispatch delay cannot be negative");
+        }
+        dispatchDelay = delay;
+    }
+
+    static long getDispatchDelay() {
+        return dispatchDelay;
+    }
+
+    public static void setLoop(@NonNull EventsLoop loop) {
+        if (loop == null) {
+            throw new NullPointerException("Loop cannot be null");
+        }
+        EventsParams.loop = loop;
+    }
+
+    /**
+     * Returns loop set with {@link #setLoop(EventsLoop)} or default one: {@link AndroidLoop} if
+     * running on Android and {@link JvmLoop} otherwise.
+     */
+    @NonNull
+    public static EventsLoop getLoop() {
+        EventsLoop result = loop;
+        if (result == null) {
+            synchronized (EventsParams.class) {
+                result = loop;
+                if (result == null) {
+                    result = Utils.isAndroid() ? new AndroidLoop() : new JvmLoop();
+                    loop = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public static void addIndex(@NonNull EventsIndex index) {
+        if (index == null) {
+            throw new NullPointerException("Index cannot be null");
+        }
+        indexes.add(index);
+    }
+
+    static List<EventsIndex> getIndexes() {
+        return indexes;
+    }
+
+    public static void setReflectionFallbackEnabled(boolean enabled) {
+        isReflectionFallbackEnabled = enabled;
+    }
+
+    static boolean isReflectionFallbackEnabled() {
+        return isReflectionFallbackEnabled;
+    }
+
+    public static void setInvokerFactory(@Nullable InvokerFactory factory) {
+        invokerFactory = factory;
+    }
+
+    @Nullable
+    static InvokerFactory getInvokerFactory() {
+        return invokerFactory;
+    }
+
+    public static void setSnapshot(@Nullable MethodsSnapshot snapshot) {
+        EventsParams.snapshot = snapshot;
+    }
+
+    @Nullable
+    public static MethodsSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public static void setPoolingEnabled(boolean enabled) {
+        isPoolingEnabled = enabled;
+    }
+
+    static boolean isPoolingEnabled() {
+        return isPoolingEnabled;
+    }
+
+    public static void setExecutor(@NonNull String pool, @NonNull Executor executor) {
+        if (pool == null || executor == null) {
+            throw new NullPointerException("Pool name and executor cannot be null");
+        }
+        executors.put(pool, executor);
+    }
+
+    /**
+     * Returns executor set with {@link #setExecutor(String, Executor)} for given pool or
+     * default one, see {@link PoolExecutor}.
+     */
+    @NonNull
+    public static Executor getExecutor(@NonNull String pool) {
+        Executor executor = executors.get(pool);
+        if (executor == null) {
+            executor = createExecutor(pool);
+            Executor existing = executors.putIfAbsent(pool, executor);
+            if (existing == null) {
+                Utils.log("Created executor for pool: " + pool);
+            } else {
+                // Executor created concurrently is not used, its threads are never started
+                executor = existing;
+            }
+        }
+        return executor;
+    }
+
+    private static Executor createExecutor(String pool) {
+        switch (pool) {
+            case Background.DEFAULT:
+                return PoolExecutor.createDefault();
+            case Background.IO:
+                return PoolExecutor.createIo();
+            case Background.COMPUTE:
+                return PoolExecutor.createCompute();
+            case Background.VIRTUAL:
+                if (VirtualThreadExecutor.isSupported()) {
+                    return new VirtualThreadExecutor("EventsVirtual");
+                } else {
+                    Utils.log("Virtual threads are not supported, using IO pool instead");
+                    return getExecutor(Background.IO);
+                }
+            default:
+                return PoolExecutor.create("Events-" + pool);
+        }
+    }
+
+    // Method handles are only used on plain JVM, if corresponding module is available
+    private static InvokerFactory createDefaultInvokerFactory() {
+        if (Utils.isAndroid()) {
+            return null;
+        }
+        try {
+            return (InvokerFactory) Class.forName(JVM_INVOKER_FACTORY)
+                    .getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
 }
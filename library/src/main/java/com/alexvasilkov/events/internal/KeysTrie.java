@@ -0,0 +1,133 @@
+package com.alexvasilkov.events.internal;
+
+import android.support.annotation.MainThread;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Prefix tree of wildcard subscriptions (i.e. {@code data.repo.*}), keyed by key segments.
+ * Looking up subscriptions matching particular event key only visits one node per key segment.
+ */
+@MainThread
+class KeysTrie {
+
+    private final Node root = new Node(null);
+    private int size;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void add(Subscription subscription) {
+        Node node = root;
+        for (String segment : EventKeys.getWildcardSegments(subscription.method.eventKey)) {
+            node = node.getOrCreate(segment);
+        }
+        if (node.subscriptions(subscription.method.type, true).add(subscription)) {
+            size++;
+        }
+    }
+
+    void remove(Subscription subscription) {
+        Node node = root;
+        for (String segment : EventKeys.getWildcardSegments(subscription.method.eventKey)) {
+            node = node.find(segment, 0, segment.length());
+            if (node == null) {
+                return;
+            }
+        }
+        Set<Subscription> set = node.subscriptions(subscription.method.type, false);
+        if (set != null && set.remove(subscription)) {
+            size--;
+        }
+    }
+
+    /**
+     * Returns given exact subscriptions followed by all wildcard subscriptions of given type
+     * matching given key, from the least to the most specific ones. Given collection is returned
+     * as is if there are no matching wildcard subscriptions.
+     */
+    Collection<Subscription> appendMatches(String key, EventMethod.Type type,
+            Collection<Subscription> exact) {
+
+        List<Subscription> result = append(null, exact, root.subscriptions(type, false));
+
+        Node node = root;
+        int start = 0;
+        int dot;
+        // Wildcard requires at least one more segment after its prefix, so last key segment
+        // is never checked
+        while ((dot = key.indexOf(EventKeys.SEPARATOR, start)) != -1) {
+            node = node.find(key, start, dot);
+            if (node == null) {
+                break;
+            }
+            result = append(result, exact, node.subscriptions(type, false));
+            start = dot + 1;
+        }
+
+        return result == null ? exact : result;
+    }
+
+    private static List<Subscription> append(List<Subscription> result,
+            Collection<Subscription> exact, Set<Subscription> matched) {
+        if (matched == null || matched.isEmpty()) {
+            return result;
+        }
+        if (result == null) {
+            result = new ArrayList<>(exact);
+        }
+        result.addAll(matched);
+        return result;
+    }
+
+
+    private static class Node {
+        final String segment;
+        final List<Node> children = new ArrayList<>();
+        // Subscriptions by method type ordinal
+        @SuppressWarnings("unchecked")
+        final Set<Subscription>[] byType =
+                (Set<Subscription>[]) new Set<?>[EventMethod.Type.values().length];
+
+        Node(String segment) {
+            this.segment = segment;
+        }
+
+        // Finds child by key's region, without creating substrings
+        Node find(String key, int start, int end) {
+            int length = end - start;
+            for (int i = 0, size = children.size(); i < size; i++) {
+                Node child = children.get(i);
+                if (child.segment.length() == length
+                        && key.regionMatches(start, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        Node getOrCreate(String segment) {
+            Node child = find(segment, 0, segment.length());
+            if (child == null) {
+                child = new Node(segment);
+                children.add(child);
+            }
+            return child;
+        }
+
+        Set<Subscription> subscriptions(EventMethod.Type type, boolean create) {
+            Set<Subscription> set = byType[type.ordinal()];
+            if (set == null && create) {
+                set = new LinkedHashSet<>();
+                byType[type.ordinal()] = set;
+            }
+            return set;
+        }
+    }
+
+}
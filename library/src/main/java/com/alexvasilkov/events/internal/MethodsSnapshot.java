@@ -0,0 +1,372 @@
+package com.alexvasilkov.events.internal;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.alexvasilkov.events.Event;
+import com.alexvasilkov.events.Events.Failure;
+import com.alexvasilkov.events.Events.Result;
+import com.alexvasilkov.events.Events.Status;
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.Priority;
+import com.alexvasilkov.events.cache.CacheProvider;
+import com.alexvasilkov.events.index.IndexedMethod;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Annotated methods metadata persisted between application launches, to skip annotations look up
+ * during first registration of each class. Only methods collected using reflection are stored,
+ * classes found in generated indexes are not stored.
+ * <p/>
+ * Snapshot is bound to application version, it is ignored and rewritten once version is changed.
+ * Methods which cannot be found anymore are collected using reflection again.
+ */
+public class MethodsSnapshot {
+
+    private static final int MAGIC = 0x45564e54; // "EVNT"
+    private static final int FORMAT_VERSION = 4;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    // Annotations by EventMethod.Type ordinal
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends Annotation>[] TYPES =
+            (Class<? extends Annotation>[]) new Class<?>[] {
+                    Subscribe.class, Status.class, Result.class, Failure.class
+            };
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private static final int FLAG_RETURN = 1;
+    private static final int FLAG_BACKGROUND = 1 << 1;
+    private static final int FLAG_SINGLE_THREAD = 1 << 2;
+    private static final int FLAG_KEYED_SERIAL = 1 << 3;
+    private static final int FLAG_COLLAPSING = 1 << 4;
+
+    private final File file;
+    private final String version;
+
+    private final ConcurrentMap<String, Record[]> staticMethods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Record[]> instanceMethods = new ConcurrentHashMap<>();
+    private volatile boolean isChanged;
+
+    private MethodsSnapshot(File file, String version) {
+        this.file = file;
+        this.version = version;
+    }
+
+    /**
+     * Reads snapshot from given file, if it exists and was stored for the same app version.
+     * Otherwise empty snapshot is returned, which will be filled during registrations.
+     */
+    @NonNull
+    public static MethodsSnapshot load(@NonNull File file, @NonNull String version) {
+        if (file == null || version == null) {
+            throw new NullPointerException("Snapshot file and version cannot be null");
+        }
+
+        MethodsSnapshot snapshot = new MethodsSnapshot(file, version);
+
+        if (file.exists()) {
+            long start = System.nanoTime();
+            try {
+                snapshot.read();
+            } catch (Exception e) {
+                Utils.logE("Cannot read methods snapshot " + file, e);
+                snapshot.staticMethods.clear();
+                snapshot.instanceMethods.clear();
+            }
+
+            if (EventsParams.isDebug()) {
+                long time = System.nanoTime() - start;
+                Utils.log(String.format("Reading %d classes from methods snapshot in %.3f ms",
+                        snapshot.staticMethods.size() + snapshot.instanceMethods.size(),
+                        time / 1e6d));
+            }
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Writes snapshot into file if new classes were registered since it was loaded.
+     * Does disk IO, so it is better to call it from background thread.
+     */
+    public synchronized void save() {
+        if (!isChanged) {
+            return;
+        }
+        isChanged = false;
+
+        File tmp = new File(file.getPath() + ".tmp");
+        try {
+            write(tmp);
+            if (!tmp.renameTo(file)) {
+                throw new IOException("Cannot rename " + tmp + " to " + file);
+            }
+        } catch (IOException e) {
+            isChanged = true;
+            Utils.logE("Cannot save methods snapshot " + file, e);
+            //noinspection ResultOfMethodCallIgnored
+            tmp.delete();
+        }
+    }
+
+    /**
+     * Returns stored methods of given class or {@code null} if class is not found or if any of
+     * stored types cannot be loaded.
+     */
+    @Nullable
+    IndexedMethod[] getMethods(Class<?> clazz, boolean statics) {
+        Record[] records = (statics ? staticMethods : instanceMethods).get(clazz.getName());
+        if (records == null) {
+            return null;
+        }
+
+        try {
+            // Same types (i.e. Event) are usually used by several methods
+            TypesResolver types = new TypesResolver(clazz.getClassLoader());
+            IndexedMethod[] methods = new IndexedMethod[records.length];
+            for (int i = 0; i < records.length; i++) {
+                methods[i] = records[i].resolve(types, statics);
+            }
+            return methods;
+        } catch (ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores methods collected using reflection.
+     */
+    void put(Class<?> clazz, boolean statics, List<EventMethod> methods) {
+        Record[] records = new Record[methods.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = new Record(methods.get(i));
+        }
+        (statics ? staticMethods : instanceMethods).put(clazz.getName(), records);
+        isChanged = true;
+    }
+
+
+    // Reads whole file at once using memory mapping
+    private void read() throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = raf.getChannel();
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+                    || !version.equals(readString(buffer))) {
+                Utils.log("Methods snapshot is outdated, ignoring");
+                return;
+            }
+
+            int classesCount = buffer.getInt();
+            for (int i = 0; i < classesCount; i++) {
+                boolean statics = buffer.get() != 0;
+                String className = readString(buffer);
+                Record[] records = new Record[buffer.getInt()];
+                for (int j = 0; j < records.length; j++) {
+                    records[j] = new Record(buffer);
+                }
+                (statics ? staticMethods : instanceMethods).put(className, records);
+            }
+        } finally {
+            raf.close();
+        }
+    }
+
+    private void write(File target) throws IOException {
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(target)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, version);
+
+            // Maps can be updated concurrently, so taking copies to write consistent count
+            Map<String, Record[]> statics = new HashMap<>(staticMethods);
+            Map<String, Record[]> instance = new HashMap<>(instanceMethods);
+
+            out.writeInt(statics.size() + instance.size());
+            for (Map.Entry<String, Record[]> entry : statics.entrySet()) {
+                writeClass(out, true, entry.getKey(), entry.getValue());
+            }
+            for (Map.Entry<String, Record[]> entry : instance.entrySet()) {
+                writeClass(out, false, entry.getKey(), entry.getValue());
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void writeClass(DataOutputStream out, boolean statics, String className,
+            Record[] records) throws IOException {
+        out.writeByte(statics ? 1 : 0);
+        writeString(out, className);
+        out.writeInt(records.length);
+        for (Record record : records) {
+            record.write(out);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = str.getBytes(UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static Class<?> loadClass(String name, ClassLoader loader)
+            throws ClassNotFoundException {
+        switch (name) {
+            case "com.alexvasilkov.events.Event":
+                return Event.class;
+            case "java.lang.String":
+                return String.class;
+            case "java.lang.Object":
+                return Object.class;
+            case "boolean":
+                return boolean.class;
+            case "byte":
+                return byte.class;
+            case "char":
+                return char.class;
+            case "short":
+                return short.class;
+            case "int":
+                return int.class;
+            case "long":
+                return long.class;
+            case "float":
+                return float.class;
+            case "double":
+                return double.class;
+            default:
+                return Class.forName(name, false, loader);
+        }
+    }
+
+
+    // Stored method info, types are kept as names and loaded on demand
+    private static class Record {
+        final String name;
+        final String[] params;
+        final int type;
+        final String eventKey;
+        final int flags;
+        final String pool;
+        final int priority;
+        final String cache;
+
+        Record(EventMethod method) {
+            name = method.javaMethod.getName();
+            params = new String[method.params.length];
+            for (int i = 0; i < params.length; i++) {
+                params[i] = method.params[i].getName();
+            }
+            type = method.type.ordinal();
+            eventKey = method.eventKey;
+            flags = (method.hasReturnType ? FLAG_RETURN : 0)
+                    | (method.isBackground ? FLAG_BACKGROUND : 0)
+                    | (method.isSingleThread ? FLAG_SINGLE_THREAD : 0)
+                    | (method.isKeyedSerial ? FLAG_KEYED_SERIAL : 0)
+                    | (method.isCollapsing ? FLAG_COLLAPSING : 0);
+            pool = method.pool;
+            priority = method.priority.ordinal();
+            cache = method.cache == null ? null : method.cache.getClass().getName();
+        }
+
+        Record(ByteBuffer buffer) {
+            name = readString(buffer);
+            params = new String[buffer.getInt()];
+            for (int i = 0; i < params.length; i++) {
+                params[i] = readString(buffer);
+            }
+            type = buffer.get();
+            eventKey = readString(buffer);
+            flags = buffer.get();
+            pool = readString(buffer);
+            priority = buffer.get();
+            cache = readString(buffer);
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            writeString(out, name);
+            out.writeInt(params.length);
+            for (String param : params) {
+                writeString(out, param);
+            }
+            out.writeByte(type);
+            writeString(out, eventKey);
+            out.writeByte(flags);
+            writeString(out, pool);
+            out.writeByte(priority);
+            writeString(out, cache);
+        }
+
+        IndexedMethod resolve(TypesResolver types, boolean statics)
+                throws ClassNotFoundException {
+            Class<?>[] paramTypes = new Class<?>[params.length];
+            for (int i = 0; i < params.length; i++) {
+                paramTypes[i] = types.get(params[i]);
+            }
+            Class<? extends CacheProvider> cacheType = cache == null ? null
+                    : types.get(cache).asSubclass(CacheProvider.class);
+
+            return new IndexedMethod(name, paramTypes, TYPES[type], eventKey, statics,
+                    (flags & FLAG_RETURN) != 0, (flags & FLAG_BACKGROUND) != 0,
+                    (flags & FLAG_SINGLE_THREAD) != 0, (flags & FLAG_KEYED_SERIAL) != 0, pool,
+                    PRIORITIES[priority], (flags & FLAG_COLLAPSING) != 0, cacheType, null);
+        }
+    }
+
+    // Loads classes by names, remembering already loaded ones
+    private static class TypesResolver {
+        private final ClassLoader loader;
+        private final Map<String, Class<?>> loaded = new HashMap<>();
+
+        TypesResolver(ClassLoader loader) {
+            this.loader = loader;
+        }
+
+        Class<?> get(String name) throws ClassNotFoundException {
+            Class<?> type = loaded.get(name);
+            if (type == null) {
+                type = loadClass(name, loader);
+                loaded.put(name, type);
+            }
+            return type;
+        }
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.alexvasilkov.events.internal;
+
+/**
+ * Pair of registered target and one of its methods.
+ */
+class Subscription {
+
+    final EventTarget target;
+    final EventMethod method;
+
+    Subscription(EventTarget target, EventMethod method) {
+        this.target = target;
+        this.method = method;
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.alexvasilkov.events.internal;
+
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+
+import com.alexvasilkov.events.Event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Index of registered targets' methods by event key and method type, so that dispatcher only
+ * visits methods which are actually interested in particular event.
+ * <p/>
+ * Subscriptions are stored in arrays indexed by interned key id (see {@link EventKeys}),
+ * subscriptions for each key are stored in registration order. Class-keyed events are matched
+ * against keys of all their super types, see {@link EventTypes}. Wildcard subscriptions
+ * ({@code data.repo.*}) are stored separately in {@link KeysTrie}.
+ */
+@MainThread
+class SubscriptionsIndex {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Subscriptions by method type ordinal and by key id
+    @SuppressWarnings("unchecked")
+    private final Set<Subscription>[][] index =
+            (Set<Subscription>[][]) new Set<?>[EventMethod.Type.values().length][INITIAL_CAPACITY];
+
+    private final KeysTrie wildcards = new KeysTrie();
+
+    void add(EventTarget target) {
+        Subscription[] subscriptions = new Subscription[target.methods.size()];
+
+        for (int i = 0, size = subscriptions.length; i < size; i++) {
+            EventMethod method = target.methods.get(i);
+            subscriptions[i] = new Subscription(target, method);
+            if (method.isWildcard) {
+                wildcards.add(subscriptions[i]);
+                continue;
+            }
+
+            Set<Subscription>[] byKey = ensureCapacity(method.type, method.keyId);
+            Set<Subscription> set = byKey[method.keyId];
+            if (set == null) {
+                set = new LinkedHashSet<>();
+                byKey[method.keyId] = set;
+            }
+            set.add(subscriptions[i]);
+        }
+
+        target.subscriptions = subscriptions;
+    }
+
+    void remove(EventTarget target) {
+        if (target.subscriptions == null) {
+            return;
+        }
+
+        for (Subscription subscription : target.subscriptions) {
+            EventMethod method = subscription.method;
+            if (method.isWildcard) {
+                wildcards.remove(subscription);
+                continue;
+            }
+
+            Set<Subscription>[] byKey = index[method.type.ordinal()];
+            Set<Subscription> set = byKey[method.keyId];
+
+            if (set != null && set.remove(subscription) && set.isEmpty()) {
+                byKey[method.keyId] = null;
+            }
+        }
+
+        target.subscriptions = null;
+    }
+
+    /**
+     * Returns all subscriptions of given type for given event. Returned collection should not
+     * be modified and should not be used after any further registration changes.
+     */
+    @NonNull
+    Collection<Subscription> get(Event event, EventMethod.Type type) {
+        int[] hierarchy = ((EventBase) event).hierarchy;
+        if (hierarchy == null) {
+            Collection<Subscription> exact = get(((EventBase) event).keyId, type);
+            return wildcards.isEmpty()
+                    ? exact : wildcards.appendMatches(event.getKey(), type, exact);
+        }
+
+        // Class-keyed event is delivered to subscribers of all its super types, most specific
+        // types first. Subscriptions are only copied if several types have subscribers.
+        Collection<Subscription> found = null;
+        List<Subscription> merged = null;
+        for (int keyId : hierarchy) {
+            Collection<Subscription> subscriptions = get(keyId, type);
+            if (subscriptions.isEmpty()) {
+                continue;
+            }
+            if (found == null) {
+                found = subscriptions;
+            } else {
+                if (merged == null) {
+                    merged = new ArrayList<>(found);
+                }
+                merged.addAll(subscriptions);
+            }
+        }
+        return merged != null ? merged
+                : (found != null ? found : Collections.<Subscription>emptySet());
+    }
+
+    /**
+     * Returns all subscriptions of given type for given key id,
+     * see {@link #get(Event, EventMethod.Type)}.
+     */
+    @NonNull
+    Collection<Subscription> get(int keyId, EventMethod.Type type) {
+        Set<Subscription>[] byKey = index[type.ordinal()];
+        Set<Subscription> set = keyId < byKey.length ? byKey[keyId] : null;
+        return set == null ? Collections.<Subscription>emptySet() : set;
+    }
+
+    private Set<Subscription>[] ensureCapacity(EventMethod.Type type, int keyId) {
+        Set<Subscription>[] byKey = index[type.ordinal()];
+        if (keyId >= byKey.length) {
+            byKey = Arrays.copyOf(byKey, Math.max(keyId + 1, byKey.length * 2));
+            index[type.ordinal()] = byKey;
+        }
+        return byKey;
+    }
+
+}
@@ -1,53 +1,89 @@
 package com.alexvasilkov.events.internal;
 
+import android.support.annotation.NonNull;
+
 import com.alexvasilkov.events.Event;
 import com.alexvasilkov.events.EventFailure;
 import com.alexvasilkov.events.EventResult;
 import com.alexvasilkov.events.EventStatus;
+import com.alexvasilkov.events.Priority;
+import com.alexvasilkov.events.executor.Prioritized;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
 
-class Task implements Runnable {
+class Task implements Runnable, Prioritized {
 
-    private final Dispatcher dispatcher;
+    private Dispatcher dispatcher;
 
-    final EventTarget target;
-    final EventMethod method;
-    final Event event;
+    EventTarget target;
+    EventMethod method;
+    Event event;
 
     // Optional values
-    private final EventStatus status;
-    private final EventResult result;
-    private final EventFailure failure;
-
-    private Task(Dispatcher dispatcher, EventTarget target, EventMethod method, Event event,
-            EventStatus status, EventResult result, EventFailure failure) {
-        this.dispatcher = dispatcher;
-        this.target = target;
-        this.method = method;
-        this.event = event;
-        this.status = status;
-        this.result = result;
-        this.failure = failure;
+    private EventStatus status;
+    private EventResult result;
+    private EventFailure failure;
+
+    // Execution priority and queueing order, set by TasksQueue
+    Priority priority;
+    long order;
+
+    // Whether this task will be recycled once finished, see TasksPool
+    boolean isPooled;
+    // Arguments array kept between usages of pooled task
+    private Object[] args;
+    // Next task in the pool
+    Task next;
+
+    Task() {
+        // Instances are obtained from TasksPool
     }
 
     static Task create(Dispatcher dispatcher, EventTarget target, EventMethod method, Event event) {
-        return new Task(dispatcher, target, method, event, null, null, null);
+        return dispatcher.tasksPool.obtain()
+                .init(dispatcher, target, method, event, null, null, null);
     }
 
     static Task create(Dispatcher dispatcher, EventTarget target, EventMethod method, Event event,
             EventStatus status) {
-        return new Task(dispatcher, target, method, event, status, null, null);
+        return dispatcher.tasksPool.obtain()
+                .init(dispatcher, target, method, event, status, null, null);
     }
 
     static Task create(Dispatcher dispatcher, EventTarget target, EventMethod method, Event event,
             EventResult result) {
-        return new Task(dispatcher, target, method, event, null, result, null);
+        return dispatcher.tasksPool.obtain()
+                .init(dispatcher, target, method, event, null, result, null);
     }
 
     static Task create(Dispatcher dispatcher, EventTarget target, EventMethod method, Event event,
             EventFailure failure) {
-        return new Task(dispatcher, target, method, event, null, null, failure);
+        return dispatcher.tasksPool.obtain()
+                .init(dispatcher, target, method, event, null, null, failure);
+    }
+
+    private Task init(Dispatcher dispatcher, EventTarget target, EventMethod method, Event event,
+            EventStatus status, EventResult result, EventFailure failure) {
+        this.dispatcher = dispatcher;
+        this.target = target;
+        this.method = method;
+        this.event = event;
+        this.status = status;
+        this.result = result;
+        this.failure = failure;
+        return this;
+    }
+
+    // Releases all references, keeping arguments array for later reuse
+    void clear() {
+        init(null, null, null, null, null, null, null);
+    }
+
+    @NonNull
+    @Override
+    public Priority getPriority() {
+        return priority;
     }
 
     @Override
@@ -86,8 +122,18 @@ class Task implements Runnable {
         // Calling actual method
         if (isShouldCallMethod && methodError == null) {
             try {
-                Object[] args = method.args(event, status, result, failure);
-                Object returnedResult = method.javaMethod.invoke(targetObj, args);
+                Object[] args = method.args(event, status, result, failure,
+                        isPooled ? this.args : null);
+                Object returnedResult;
+                try {
+                    returnedResult = invoke(targetObj, args);
+                } finally {
+                    if (isPooled) {
+                        // Arguments are no longer needed, array can be reused by next usage
+                        Arrays.fill(args, null);
+                        this.args = args;
+                    }
+                }
 
                 if (returnedResult instanceof EventResult) {
                     methodResult = (EventResult) returnedResult;
@@ -137,4 +183,24 @@ class Task implements Runnable {
         }
     }
 
+    // Calls method using generated invoker if available or using reflection otherwise
+    private Object invoke(Object targetObj, Object[] args) throws Exception {
+        if (method.invoker != null) {
+            if (!method.isApplicable(args)) {
+                // Same error as thrown by reflection, it is not a failure of the method itself
+                throw new IllegalArgumentException("Argument type mismatch");
+            }
+            try {
+                return method.invoker.invoke(targetObj, args);
+            } catch (Throwable e) {
+                throw new InvocationTargetException(e);
+            }
+        } else if (EventsParams.isReflectionFallbackEnabled()) {
+            return method.javaMethod.invoke(targetObj, args);
+        } else {
+            throw Utils.toException(event.getKey(), method,
+                    "No invoker found and reflection fallback is disabled");
+        }
+    }
+
 }
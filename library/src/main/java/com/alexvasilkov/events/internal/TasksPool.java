@@ -0,0 +1,43 @@
+package com.alexvasilkov.events.internal;
+
+import android.support.annotation.MainThread;
+
+/**
+ * Pool of finished tasks, used to avoid allocating new task (and its arguments array) for each
+ * method invocation when pooling is enabled, see {@link EventsParams#setPoolingEnabled(boolean)}.
+ */
+@MainThread
+class TasksPool {
+
+    private static final int MAX_SIZE = 64;
+
+    private Task head;
+    private int size;
+
+    Task obtain() {
+        Task task = head;
+        if (task == null) {
+            task = new Task();
+        } else {
+            head = task.next;
+            task.next = null;
+            size--;
+        }
+        task.isPooled = EventsParams.isPoolingEnabled();
+        return task;
+    }
+
+    // Should only be called once task is finished and is not referenced anymore
+    void recycle(Task task) {
+        if (!task.isPooled) {
+            return;
+        }
+        task.clear();
+        if (size < MAX_SIZE) {
+            task.next = head;
+            head = task;
+            size++;
+        }
+    }
+
+}
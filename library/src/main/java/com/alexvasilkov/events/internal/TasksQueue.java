@@ -0,0 +1,103 @@
+package com.alexvasilkov.events.internal;
+
+import android.support.annotation.MainThread;
+
+import com.alexvasilkov.events.Priority;
+
+import java.util.ArrayDeque;
+
+/**
+ * Execution queue with a separate FIFO lane for each {@link Priority}, higher lanes are drained
+ * first.
+ * <p/>
+ * To protect lower lanes from starvation once {@link #FAIR_POLL_INTERVAL} tasks in a row were
+ * taken ahead of an older one, the oldest queued task is taken instead. Taking the oldest task
+ * (and not just any lower priority task) also keeps tasks of a single event in order: i.e.
+ * finished status will never be delivered before results which were queued earlier.
+ */
+@MainThread
+class TasksQueue {
+
+    static final int FAIR_POLL_INTERVAL = 8;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Task>[] lanes =
+            (ArrayDeque<Task>[]) new ArrayDeque<?>[PRIORITIES.length];
+
+    private long lastOrder;
+    private long firstOrder;
+    private int size;
+    private int unfairPolls;
+
+    TasksQueue() {
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ArrayDeque<>();
+        }
+    }
+
+    // Adds task to the end of given priority lane
+    void add(Task task, Priority priority) {
+        task.priority = priority;
+        task.order = ++lastOrder;
+        lanes[priority.ordinal()].addLast(task);
+        size++;
+    }
+
+    // Adds task to the beginning of given priority lane, the task is considered to be the oldest
+    void addFirst(Task task, Priority priority) {
+        task.priority = priority;
+        task.order = --firstOrder;
+        lanes[priority.ordinal()].addFirst(task);
+        size++;
+    }
+
+    // Adds task to the beginning of its lane, keeping its priority
+    void addFirst(Task task) {
+        addFirst(task, task.priority);
+    }
+
+    Task poll() {
+        if (size == 0) {
+            return null;
+        }
+
+        int highest = -1;
+        int oldest = -1;
+        long oldestOrder = Long.MAX_VALUE;
+
+        for (int i = lanes.length - 1; i >= 0; i--) {
+            Task head = lanes[i].peekFirst();
+            if (head != null) {
+                if (highest == -1) {
+                    highest = i;
+                }
+                if (head.order < oldestOrder) {
+                    oldest = i;
+                    oldestOrder = head.order;
+                }
+            }
+        }
+
+        int lane = highest;
+        if (oldest == highest) {
+            unfairPolls = 0; // Nothing is starving
+        } else if (++unfairPolls >= FAIR_POLL_INTERVAL) {
+            lane = oldest;
+            unfairPolls = 0;
+        }
+
+        size--;
+        return lanes[lane].pollFirst();
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+}
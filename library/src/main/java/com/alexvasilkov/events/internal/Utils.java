@@ -2,16 +2,26 @@ package com.alexvasilkov.events.internal;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.os.Looper;
 import android.util.Log;
 
 import com.alexvasilkov.events.EventsException;
 
 import java.lang.reflect.Method;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 class Utils {
 
     static final String TAG = "Events";
 
+    private static final boolean IS_ANDROID = isAndroidRuntime();
+
+    // Whether we are running on Android or on plain JVM
+    static boolean isAndroid() {
+        return IS_ANDROID;
+    }
+
     @NonNull
     static String classToString(@Nullable Object obj) {
         return obj == null ? "null" : (obj instanceof Class
@@ -26,28 +36,28 @@ class Utils {
     // Logs target object
     static void log(Object targetObj, String msg) {
         if (EventsParams.isDebug()) {
-            Log.d(TAG, toLogStr(targetObj, msg));
+            printDebug(toLogStr(targetObj, msg));
         }
     }
 
     // Logs event
     static void log(String msg) {
         if (EventsParams.isDebug()) {
-            Log.d(TAG, msg);
+            printDebug(msg);
         }
     }
 
     // Logs event
     static void log(String eventKey, String msg) {
         if (EventsParams.isDebug()) {
-            Log.d(TAG, toLogStr(eventKey, msg));
+            printDebug(toLogStr(eventKey, msg));
         }
     }
 
     // Logs event and method
     static void log(String eventKey, EventMethod method, String msg) {
         if (EventsParams.isDebug()) {
-            Log.d(TAG, toLogStr(eventKey, method, msg));
+            printDebug(toLogStr(eventKey, method, msg));
         }
     }
 
@@ -58,17 +68,54 @@ class Utils {
 
     // Logs target object error
     static void logE(Object targetObj, String msg) {
-        Log.e(TAG, toLogStr(targetObj, msg));
+        printError(toLogStr(targetObj, msg), null);
+    }
+
+    // Logs error
+    static void logE(String msg, Throwable error) {
+        printError(msg, error);
+    }
+
+    // Logs target object error with exception
+    static void logE(Object targetObj, String msg, Throwable error) {
+        printError(toLogStr(targetObj, msg), error);
     }
 
     // Logs event error
     static void logE(String eventKey, String msg) {
-        Log.e(TAG, toLogStr(eventKey, msg));
+        printError(toLogStr(eventKey, msg), null);
     }
 
     // Logs action (event and method) error
     static void logE(Task action, String msg, Throwable error) {
-        Log.e(TAG, toLogStr(action, msg), error);
+        printError(toLogStr(action, msg), error);
+    }
+
+
+    private static void printDebug(String msg) {
+        if (IS_ANDROID) {
+            Log.d(TAG, msg);
+        } else {
+            Logger.getLogger(TAG).log(Level.INFO, msg);
+        }
+    }
+
+    private static void printError(String msg, Throwable error) {
+        if (IS_ANDROID) {
+            Log.e(TAG, msg, error);
+        } else {
+            Logger.getLogger(TAG).log(Level.SEVERE, msg, error);
+        }
+    }
+
+    // Android classes can also be available in local unit tests (as stubs), so we should check
+    // that main looper is actually prepared
+    private static boolean isAndroidRuntime() {
+        try {
+            return Looper.getMainLooper() != null;
+        } catch (Throwable ignored) {
+            return false; // No Android classes or stubs throwing exceptions
+        }
     }
 
 
@@ -0,0 +1,71 @@
+package com.alexvasilkov.events.loop;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Message;
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+
+/**
+ * Loop backed by Android's main {@link Looper}.
+ */
+public class AndroidLoop implements EventsLoop {
+
+    private final Looper looper;
+
+    public AndroidLoop() {
+        this(Looper.getMainLooper());
+    }
+
+    public AndroidLoop(@NonNull Looper looper) {
+        this.looper = looper;
+    }
+
+    @NonNull
+    @Override
+    public Channel createChannel(@NonNull Receiver receiver) {
+        return new HandlerChannel(looper, receiver);
+    }
+
+    @Override
+    public boolean isLoopThread() {
+        return looper == Looper.myLooper();
+    }
+
+    @Override
+    public long uptimeMillis() {
+        return SystemClock.uptimeMillis();
+    }
+
+
+    private static class HandlerChannel extends Handler implements Channel {
+
+        private final Receiver receiver;
+
+        HandlerChannel(Looper looper, Receiver receiver) {
+            super(looper);
+            this.receiver = receiver;
+        }
+
+        @Override
+        public void send(int what, Object obj, long delay, boolean async) {
+            Message msg = obtainMessage(what, obj);
+            if (async && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP_MR1) {
+                msg.setAsynchronous(true);
+            }
+
+            if (delay > 0L) {
+                sendMessageDelayed(msg, delay);
+            } else {
+                sendMessage(msg);
+            }
+        }
+
+        @Override
+        public void handleMessage(@NonNull Message msg) {
+            receiver.onMessage(msg.what, msg.obj);
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.alexvasilkov.events.loop;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Message loop and clock used by event bus. All targets registration, events dispatching and
+ * callbacks invocation happen on loop's thread, while background subscribers are executed
+ * on separate threads and send their results back through this loop.
+ * <p/>
+ * {@link AndroidLoop} (backed by main {@code Looper}) is used by default on Android,
+ * {@link JvmLoop} (backed by single dispatcher thread) is used by default on plain JVM.
+ * <p/>
+ * See {@link com.alexvasilkov.events.Events#setLoop(EventsLoop)}.
+ */
+public interface EventsLoop {
+
+    /**
+     * Creates channel to send messages which will be delivered to given receiver
+     * on loop's thread.
+     */
+    @NonNull
+    Channel createChannel(@NonNull Receiver receiver);
+
+    /**
+     * Whether current thread is loop's thread.
+     */
+    boolean isLoopThread();
+
+    /**
+     * Milliseconds since some fixed point in the past, not counting deep sleep.
+     * Should only be used to measure time intervals.
+     */
+    long uptimeMillis();
+
+
+    /**
+     * Handles messages on loop's thread.
+     */
+    interface Receiver {
+        void onMessage(int what, Object obj);
+    }
+
+    /**
+     * Sends messages to particular receiver.
+     */
+    interface Channel {
+        /**
+         * Sends message which will be delivered after given delay (in milliseconds).
+         * If {@code async} is true then message may bypass loop's synchronization barriers
+         * (if loop supports it).
+         */
+        void send(int what, Object obj, long delay, boolean async);
+    }
+
+}
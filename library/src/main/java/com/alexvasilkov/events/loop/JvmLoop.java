@@ -0,0 +1,148 @@
+package com.alexvasilkov.events.loop;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loop backed by single dispatcher thread, can be used to run event bus on plain JVM.
+ * <p/>
+ * Loop created with {@link #JvmLoop()} constructor starts its own daemon thread, while loop
+ * created with {@link #forCurrentThread()} method is bound to the calling thread and its messages
+ * are only handled when {@link #runPending()} is called, which is useful for single-threaded
+ * tests and benchmarks.
+ */
+public class JvmLoop implements EventsLoop {
+
+    private static final String THREAD_NAME = "EventsLoop";
+
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Thread thread;
+
+    private volatile boolean isQuit;
+
+    /**
+     * Creates loop with its own dispatcher thread.
+     */
+    public JvmLoop() {
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                loop();
+            }
+        }, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private JvmLoop(Thread thread) {
+        this.thread = thread;
+    }
+
+    /**
+     * Creates loop bound to the calling thread. Messages sent to this loop will only be handled
+     * when {@link #runPending()} is called.
+     */
+    public static JvmLoop forCurrentThread() {
+        return new JvmLoop(Thread.currentThread());
+    }
+
+    @NonNull
+    @Override
+    public Channel createChannel(@NonNull final Receiver receiver) {
+        return new Channel() {
+            @Override
+            public void send(int what, Object obj, long delay, boolean async) {
+                queue.add(new Entry(receiver, what, obj,
+                        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay),
+                        sequence.getAndIncrement()));
+            }
+        };
+    }
+
+    @Override
+    public boolean isLoopThread() {
+        return thread == Thread.currentThread();
+    }
+
+    @Override
+    public long uptimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    /**
+     * Handles all messages which are due at this moment. Should only be called from loop's thread.
+     */
+    public void runPending() {
+        if (!isLoopThread()) {
+            throw new IllegalStateException("Should be called from loop's thread");
+        }
+
+        Entry entry;
+        while ((entry = queue.poll()) != null) {
+            entry.receiver.onMessage(entry.what, entry.obj);
+        }
+    }
+
+    /**
+     * Stops dispatcher thread, pending messages are dropped.
+     */
+    public void quit() {
+        isQuit = true;
+        thread.interrupt();
+    }
+
+    private void loop() {
+        while (!isQuit) {
+            try {
+                Entry entry = queue.take();
+                entry.receiver.onMessage(entry.what, entry.obj);
+            } catch (InterruptedException ignored) {
+                // Checking quit flag
+            } catch (Throwable e) {
+                // Reporting error and keeping the loop alive
+                Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+                if (handler != null) {
+                    handler.uncaughtException(thread, e);
+                }
+            }
+        }
+        queue.clear();
+    }
+
+
+    private static class Entry implements Delayed {
+        final Receiver receiver;
+        final int what;
+        final Object obj;
+        final long time;
+        final long order;
+
+        Entry(Receiver receiver, int what, Object obj, long time, long order) {
+            this.receiver = receiver;
+            this.what = what;
+            this.obj = obj;
+            this.time = time;
+            this.order = order;
+        }
+
+        @Override
+        public long getDelay(@NonNull TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(@NonNull Delayed other) {
+            Entry entry = (Entry) other;
+            if (time != entry.time) {
+                return time < entry.time ? -1 : 1;
+            }
+            return order < entry.order ? -1 : (order == entry.order ? 0 : 1);
+        }
+    }
+
+}
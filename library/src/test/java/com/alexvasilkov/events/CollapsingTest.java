@@ -0,0 +1,71 @@
+package com.alexvasilkov.events;
+
+import com.alexvasilkov.events.Events.Result;
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.internal.EventsParams;
+import com.alexvasilkov.events.loop.EventsLoop;
+import com.alexvasilkov.events.loop.JvmLoop;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Drives the dispatcher from test thread to check collapsing of events posted at specific moments
+ * of running event's execution.
+ */
+public class CollapsingTest {
+
+    private static final String TASK_KEY = "COLLAPSING";
+
+    private EventsLoop previousLoop;
+
+    @Before
+    public void setup() {
+        previousLoop = EventsParams.getLoop();
+        // Events are dispatched right away on test thread
+        Events.setLoop(JvmLoop.forCurrentThread());
+    }
+
+    @After
+    public void cleanup() {
+        Events.setLoop(previousLoop);
+    }
+
+    @Test
+    public void eventPostedAfterResultIsExecutedSeparately() {
+        final Event[] late = new Event[1];
+        final List<Event> results = new ArrayList<>();
+
+        Object target = new Object() {
+            @Subscribe(value = TASK_KEY, collapse = true)
+            private void subscribe(Event event, String id) {
+                event.postResult(id);
+                if (late[0] == null) {
+                    // Posted after the result was sent but before running event is finished
+                    late[0] = Events.create(TASK_KEY).param(id).post();
+                }
+            }
+
+            @Result(TASK_KEY)
+            private void result(Event event, String id) {
+                results.add(event);
+            }
+        };
+
+        Events.register(target);
+        try {
+            Event first = Events.create(TASK_KEY).param("a").post();
+            assertEquals(Arrays.asList(first, late[0]), results);
+        } finally {
+            Events.unregister(target);
+        }
+    }
+
+}
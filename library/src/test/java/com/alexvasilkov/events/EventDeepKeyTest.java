@@ -0,0 +1,54 @@
+package com.alexvasilkov.events;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+public class EventDeepKeyTest {
+
+    private static final String TASK_KEY = "DEEP_KEY";
+
+    @Test
+    public void keysOfEqualEventsAreEqual() {
+        Object key1 = Event.toDeepKey(Events.create(TASK_KEY).param("a", new int[] { 1 }).build());
+        Object key2 = Event.toDeepKey(Events.create(TASK_KEY).param("a", new int[] { 1 }).build());
+
+        assertEquals(key1, key2);
+        assertEquals(key1.hashCode(), key2.hashCode());
+    }
+
+    @Test
+    public void primitiveParamsAreEqualToBoxed() {
+        Object key1 = Event.toDeepKey(Events.create(TASK_KEY).paramLong(1L).build());
+        Object key2 = Event.toDeepKey(Events.create(TASK_KEY).param(1L).build());
+
+        assertEquals(key1, key2);
+        assertEquals(key1.hashCode(), key2.hashCode());
+    }
+
+    @Test
+    public void keysOfDifferentEventsAreNotEqual() {
+        Object key = Event.toDeepKey(Events.create(TASK_KEY).param("a").build());
+
+        assertNotEquals(key, Event.toDeepKey(Events.create(TASK_KEY).param("b").build()));
+        assertNotEquals(key, Event.toDeepKey(Events.create("OTHER_KEY").param("a").build()));
+    }
+
+    @Test
+    public void keyDoesNotReferenceEventOrTags() throws IllegalAccessException {
+        Object tag = new Object();
+        Object key = Event.toDeepKey(Events.create(TASK_KEY).param("a").tag(tag).build());
+
+        for (Field field : key.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+            Object value = field.get(key);
+            assertFalse(value instanceof Event);
+            assertFalse(value == tag);
+        }
+    }
+
+}
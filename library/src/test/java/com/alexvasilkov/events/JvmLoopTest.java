@@ -0,0 +1,118 @@
+package com.alexvasilkov.events;
+
+import com.alexvasilkov.events.Events.Background;
+import com.alexvasilkov.events.Events.Result;
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.loop.EventsLoop;
+import com.alexvasilkov.events.loop.JvmLoop;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs event bus on plain JVM, without Android's main looper.
+ */
+public class JvmLoopTest {
+
+    private static final String TASK_KEY = "TASK_KEY";
+    private static final long TIMEOUT = 1000L;
+
+    private static JvmLoop loop;
+
+    @BeforeClass
+    public static void setup() {
+        loop = new JvmLoop();
+        Events.setLoop(loop);
+    }
+
+    @Test
+    public void messagesAreOrderedByTime() {
+        JvmLoop currentLoop = JvmLoop.forCurrentThread();
+        final List<Object> received = new ArrayList<>();
+
+        EventsLoop.Channel channel = currentLoop.createChannel(new EventsLoop.Receiver() {
+            @Override
+            public void onMessage(int what, Object obj) {
+                received.add(what);
+            }
+        });
+
+        channel.send(2, null, 0L, false);
+        channel.send(3, null, 0L, false);
+        channel.send(4, null, TIMEOUT, false);
+        channel.send(1, null, -1L, false);
+        currentLoop.runPending();
+
+        // Delayed message should not be handled yet
+        assertEquals(3, received.size());
+        assertEquals(1, received.get(0));
+        assertEquals(2, received.get(1));
+        assertEquals(3, received.get(2));
+    }
+
+    @Test
+    public void backgroundResultIsDeliveredOnLoopThread() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Thread[] threads = new Thread[2];
+
+        Object target = new Object() {
+            @Result(TASK_KEY)
+            private void result(Thread backgroundThread) {
+                threads[0] = backgroundThread;
+                threads[1] = Thread.currentThread();
+                latch.countDown();
+            }
+        };
+
+        try {
+            Events.register(BackgroundTarget.class);
+            Events.register(target);
+            Events.post(TASK_KEY);
+
+            assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        } finally {
+            Events.unregister(target);
+            Events.unregister(BackgroundTarget.class);
+        }
+
+        assertNotSame(threads[1], threads[0]);
+        assertSame(getLoopThread(), threads[1]);
+    }
+
+
+    private static Thread getLoopThread() throws InterruptedException {
+        final Thread[] loopThread = new Thread[1];
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        loop.createChannel(new EventsLoop.Receiver() {
+            @Override
+            public void onMessage(int what, Object obj) {
+                loopThread[0] = Thread.currentThread();
+                latch.countDown();
+            }
+        }).send(0, null, 0L, false);
+
+        assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+        return loopThread[0];
+    }
+
+
+    private static class BackgroundTarget {
+        @Background
+        @Subscribe(TASK_KEY)
+        private static Thread subscribe() {
+            return Thread.currentThread();
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.alexvasilkov.events;
+
+import com.alexvasilkov.events.Events.Background;
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.internal.EventsParams;
+import com.alexvasilkov.events.loop.EventsLoop;
+import com.alexvasilkov.events.loop.JvmLoop;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Drives the dispatcher manually from test thread to check that single-thread method is passed
+ * to the waiting task before any higher priority task can take it.
+ */
+public class SingleThreadPriorityTest {
+
+    private static final String TASK_KEY = "SINGLE_THREAD_PRIORITY";
+    private static final String TRIGGER_KEY = "SINGLE_THREAD_PRIORITY_TRIGGER";
+    private static final String POOL = "single-thread-priority";
+    private static final long YIELD_WAIT = 20L;
+
+    private final Queue<Runnable> backgroundTasks = new ArrayDeque<>();
+    private final List<Integer> order = new ArrayList<>();
+
+    private EventsLoop previousLoop;
+    private JvmLoop loop;
+
+    @Before
+    public void setup() {
+        previousLoop = EventsParams.getLoop();
+        loop = JvmLoop.forCurrentThread();
+        Events.setLoop(loop);
+        // Each dispatching pass executes single task, remaining tasks stay in the queue
+        EventsParams.setMaxTimeInUiThread(-1L);
+        Events.setExecutor(POOL, new Executor() {
+            @Override
+            public void execute(Runnable task) {
+                backgroundTasks.add(task);
+            }
+        });
+    }
+
+    @After
+    public void cleanup() {
+        EventsParams.setMaxTimeInUiThread(10L);
+        Events.setLoop(previousLoop);
+    }
+
+    @Test
+    public void waitingTaskIsExecutedBeforeHigherPriorityTask() throws InterruptedException {
+        Object trigger = new Object() {
+            @Subscribe(TRIGGER_KEY)
+            private void trigger() {
+                // Posted during dispatching pass, so it is queued but not polled yet
+                Events.create(TASK_KEY).param(order, 3).priority(Priority.HIGH).post();
+            }
+        };
+
+        Events.register(SingleThreadTarget.class);
+        Events.register(trigger);
+        try {
+            Events.create(TASK_KEY).param(order, 1).post();
+            Events.create(TASK_KEY).param(order, 2).post(); // Waits for first task
+            runDelayed();
+
+            // First task is finished, but the dispatcher is not notified yet
+            runInBackground(backgroundTasks.poll());
+
+            Events.post(TRIGGER_KEY);
+
+            // Finishing first task while high priority task is in the queue
+            loop.runPending();
+
+            runAll();
+        } finally {
+            Events.unregister(trigger);
+            Events.unregister(SingleThreadTarget.class);
+        }
+
+        assertEquals(Arrays.asList(1, 2, 3), order);
+    }
+
+
+    private void runDelayed() throws InterruptedException {
+        Thread.sleep(YIELD_WAIT); // Waiting for delayed dispatching passes
+        loop.runPending();
+    }
+
+    private void runAll() throws InterruptedException {
+        while (true) {
+            runDelayed();
+
+            Runnable task = backgroundTasks.poll();
+            if (task == null) {
+                break;
+            }
+            runInBackground(task);
+            loop.runPending();
+        }
+    }
+
+    private static void runInBackground(Runnable task) throws InterruptedException {
+        // Running on separate thread to post finished status through the loop
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+    }
+
+
+    private static class SingleThreadTarget {
+        @Background(singleThread = true, pool = POOL)
+        @Subscribe(TASK_KEY)
+        private static void subscribe(List<Integer> order, int value) {
+            order.add(value);
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.alexvasilkov.events.executor;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PoolExecutorTest {
+
+    private static final long KEEP_ALIVE = 50L;
+
+    private final PoolExecutor executor = new PoolExecutor("Test", 2, KEEP_ALIVE);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void extraTasksAreQueued() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(2);
+        for (int i = 0; i < 3; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    started.countDown();
+                    await(release);
+                }
+            });
+        }
+
+        assertTrue(started.await(1L, TimeUnit.SECONDS));
+        PoolStats stats = executor.getStats();
+        assertEquals(2, stats.getThreads());
+        assertEquals(2, stats.getActiveThreads());
+        assertEquals(1, stats.getQueueSize());
+        assertEquals(1, stats.getLargestQueueSize());
+
+        release.countDown();
+    }
+
+    @Test
+    public void idleThreadsAreStopped() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                assertTrue(Thread.currentThread().isDaemon());
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(1L, TimeUnit.SECONDS));
+        Thread.sleep(KEEP_ALIVE * 4L);
+
+        PoolStats stats = executor.getStats();
+        assertEquals(0, stats.getThreads());
+        assertEquals(1L, stats.getCompletedTasks());
+        assertTrue(stats.getUtilization() >= 0f && stats.getUtilization() <= 1f);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.alexvasilkov.events.executor;
+
+import android.support.annotation.NonNull;
+
+import com.alexvasilkov.events.Priority;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PriorityTasksQueueTest {
+
+    private final PriorityTasksQueue queue = new PriorityTasksQueue();
+
+    @Test
+    public void higherPriorityTasksAreTakenFirst() throws InterruptedException {
+        Runnable low = add(Priority.LOW);
+        Runnable plain = new PlainTask();
+        queue.offer(plain);
+        Runnable high = add(Priority.HIGH);
+
+        assertEquals(3, queue.size());
+        assertSame(high, queue.peek());
+        assertSame(high, queue.take());
+        assertSame(plain, queue.poll());
+        assertSame(low, queue.poll(1L, TimeUnit.MILLISECONDS));
+        assertNull(queue.poll(1L, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void lowerPrioritiesAreNotStarved() {
+        Runnable low = add(Priority.LOW);
+        Runnable normal = add(Priority.NORMAL);
+        for (int i = 0; i < 3 * PriorityTasksQueue.FAIR_POLL_INTERVAL; i++) {
+            add(Priority.HIGH);
+        }
+
+        List<Runnable> polled = new ArrayList<>();
+        for (int i = 0; i < 2 * PriorityTasksQueue.FAIR_POLL_INTERVAL; i++) {
+            polled.add(queue.poll());
+        }
+        // Both lower lanes should be polled once
+        assertTrue(polled.contains(low));
+        assertTrue(polled.contains(normal));
+    }
+
+    @Test
+    public void tasksCanBeDrainedAndRemoved() {
+        Runnable low = add(Priority.LOW);
+        Runnable high = add(Priority.HIGH);
+        Runnable normal = add(Priority.NORMAL);
+
+        assertTrue(queue.remove(normal));
+        assertEquals(2, queue.size());
+
+        List<Runnable> drained = new ArrayList<>();
+        assertEquals(2, queue.drainTo(drained));
+        assertSame(high, drained.get(0));
+        assertSame(low, drained.get(1));
+        assertTrue(queue.isEmpty());
+    }
+
+
+    private Runnable add(Priority priority) {
+        Runnable task = new PrioritizedTask(priority);
+        queue.offer(task);
+        return task;
+    }
+
+    private static class PlainTask implements Runnable {
+        @Override
+        public void run() {}
+    }
+
+    private static class PrioritizedTask extends PlainTask implements Prioritized {
+        private final Priority priority;
+
+        PrioritizedTask(Priority priority) {
+            this.priority = priority;
+        }
+
+        @NonNull
+        @Override
+        public Priority getPriority() {
+            return priority;
+        }
+    }
+
+}
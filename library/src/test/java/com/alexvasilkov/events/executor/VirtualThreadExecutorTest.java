@@ -0,0 +1,65 @@
+package com.alexvasilkov.events.executor;
+
+import com.alexvasilkov.events.Events.Background;
+import com.alexvasilkov.events.internal.EventsParams;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class VirtualThreadExecutorTest {
+
+    private static final int TASKS = 1000;
+
+    @Test
+    public void blockingTasksRunConcurrently() throws InterruptedException {
+        if (!VirtualThreadExecutor.isSupported()) {
+            return;
+        }
+
+        Executor executor = new VirtualThreadExecutor("Test");
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    assertTrue(Thread.currentThread().getName().startsWith("Test-"));
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+            });
+        }
+
+        // All tasks are blocked at once, which is not possible with a pool of platform threads
+        assertTrue(started.await(5L, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    public void notSupportedRuntimeIsDetected() {
+        if (VirtualThreadExecutor.isSupported()) {
+            return;
+        }
+
+        try {
+            new VirtualThreadExecutor("Test");
+            fail("Virtual threads should not be supported");
+        } catch (UnsupportedOperationException ignored) {
+        }
+
+        // Virtual pool should fall back to IO pool
+        assertSame(EventsParams.getExecutor(Background.IO),
+                EventsParams.getExecutor(Background.VIRTUAL));
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.alexvasilkov.events.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventKeysTest {
+
+    @Test
+    public void sameKeysHaveSameId() {
+        // Using new string instance to make sure keys are compared by value
+        assertEquals(EventKeys.intern("KEYS_SAME"), EventKeys.intern(new String("KEYS_SAME")));
+    }
+
+    @Test
+    public void newKeysHaveDenseIds() {
+        int first = EventKeys.intern("KEYS_DENSE_1");
+        int second = EventKeys.intern("KEYS_DENSE_2");
+        assertNotEquals(first, second);
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    public void wildcardMatchesNestedKeys() {
+        assertTrue(EventKeys.matches("*", "data"));
+        assertTrue(EventKeys.matches("data.*", "data.repo"));
+        assertTrue(EventKeys.matches("data.*", "data.repo.list"));
+        assertFalse(EventKeys.matches("data.*", "data"));
+        assertFalse(EventKeys.matches("data.*", "database.repo"));
+        assertFalse(EventKeys.matches("data", "data"));
+    }
+
+    @Test
+    public void wildcardDoesNotMatchReservedKeys() {
+        assertFalse(EventKeys.matches("*", EventTypes.toKey(String.class)));
+        assertFalse(EventKeys.matches("com.*", EventTypes.toKey(String.class)));
+        assertFalse(EventKeys.matches("*", EventsParams.EMPTY_KEY));
+    }
+
+    @Test
+    public void wildcardIsSplitIntoSegments() {
+        assertArrayEquals(new Object[0], EventKeys.getWildcardSegments("*"));
+        assertArrayEquals(new Object[] { "data", "repo" },
+                EventKeys.getWildcardSegments("data.repo.*"));
+    }
+
+}
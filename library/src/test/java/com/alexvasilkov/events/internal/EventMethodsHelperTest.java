@@ -0,0 +1,97 @@
+package com.alexvasilkov.events.internal;
+
+import com.alexvasilkov.events.Events.Background;
+import com.alexvasilkov.events.Events.Result;
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.EventsException;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class EventMethodsHelperTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void preloadedMethodsAreCached() {
+        EventMethodsHelper.preload(PreloadedTarget.class);
+
+        List<EventMethod> statics = EventMethodsHelper.getMethodsForTarget(PreloadedTarget.class);
+        assertEquals(1, statics.size());
+        assertSame(statics, EventMethodsHelper.getMethodsForTarget(PreloadedTarget.class));
+
+        List<EventMethod> instance =
+                EventMethodsHelper.getMethodsForTarget(new PreloadedTarget());
+        assertEquals(1, instance.size());
+        assertSame(instance, EventMethodsHelper.getMethodsForTarget(new PreloadedTarget()));
+    }
+
+    @Test(expected = EventsException.class)
+    public void preloadValidatesMethods() {
+        EventMethodsHelper.preload(InvalidTarget.class);
+    }
+
+    @Test
+    public void concurrentCollectionReturnsSameMethods() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            Callable<List<EventMethod>> collect = new Callable<List<EventMethod>>() {
+                @Override
+                public List<EventMethod> call() throws Exception {
+                    start.await();
+                    return EventMethodsHelper.getMethodsForTarget(ConcurrentTarget.class);
+                }
+            };
+
+            List<Future<List<EventMethod>>> results = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(collect));
+            }
+            start.countDown();
+
+            List<EventMethod> expected = EventMethodsHelper.getMethodsForTarget(
+                    ConcurrentTarget.class);
+            assertEquals(1, expected.size());
+            for (Future<List<EventMethod>> result : results) {
+                assertSame(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+
+    @SuppressWarnings("unused")
+    private static class PreloadedTarget {
+        @Subscribe("PRELOADED")
+        private static void subscribe() {}
+
+        @Result("PRELOADED")
+        private void result() {}
+    }
+
+    @SuppressWarnings("unused")
+    private static class InvalidTarget {
+        @Background
+        private static void background() {}
+    }
+
+    @SuppressWarnings("unused")
+    private static class ConcurrentTarget {
+        @Subscribe("CONCURRENT")
+        private static void subscribe() {}
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.alexvasilkov.events.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EventTypesTest {
+
+    @Test
+    public void hierarchyIsResolved() {
+        EventTypes.EventType type = EventTypes.get(Child.class);
+
+        assertEquals(EventTypes.toKey(Child.class), type.key);
+        assertEquals(EventKeys.intern(type.key), type.keyId);
+
+        // Classes first, then interfaces and Object at the end
+        int[] expected = new int[] {
+                idOf(Child.class), idOf(Parent.class), idOf(Marker.class),
+                idOf(Base.class), idOf(Object.class)
+        };
+        assertArrayEquals(expected, type.hierarchy);
+    }
+
+    @Test
+    public void hierarchyIsCached() {
+        assertSame(EventTypes.get(Child.class), EventTypes.get(Child.class));
+    }
+
+    @Test
+    public void typeKeysAreReserved() {
+        assertTrue(EventTypes.isTypeKey(EventTypes.get(Parent.class).key));
+    }
+
+
+    private static int idOf(Class<?> clazz) {
+        return EventKeys.intern(EventTypes.toKey(clazz));
+    }
+
+    private interface Base {}
+
+    private interface Marker extends Base {}
+
+    private static class Parent {}
+
+    private static class Child extends Parent implements Marker {}
+
+}
@@ -0,0 +1,173 @@
+package com.alexvasilkov.events.internal;
+
+import com.alexvasilkov.events.Event;
+import com.alexvasilkov.events.EventResult;
+import com.alexvasilkov.events.Events;
+import com.alexvasilkov.events.Events.Result;
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.EventsException;
+import com.alexvasilkov.events.cache.MemoryCache;
+import com.alexvasilkov.events.index.EventsIndex;
+import com.alexvasilkov.events.index.IndexedMethod;
+import com.alexvasilkov.events.index.InvokerFactory;
+import com.alexvasilkov.events.index.MethodInvoker;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class EventsIndexTest {
+
+    @BeforeClass
+    public static void setup() {
+        EventsParams.addIndex(new EventsIndex() {
+            @Override
+            public IndexedMethod[] getMethods(String className) {
+                if (className.equals(IndexedTarget.class.getName())) {
+                    // Method is not annotated, so it can only be found through index
+                    return new IndexedMethod[] {
+                            new IndexedMethod("indexed", new Class<?>[] { Event.class },
+                                    Subscribe.class, "INDEXED", true, true, true, true,
+                                    MemoryCache.class)
+                    };
+                } else if (className.equals(InvokerTarget.class.getName())) {
+                    return new IndexedMethod[] {
+                            new IndexedMethod("result", new Class<?>[] { String.class },
+                                    Result.class, "INVOKER", false, false, false, false, null,
+                                    new MethodInvoker() {
+                                        @Override
+                                        public Object invoke(Object target, Object[] args) {
+                                            ((InvokerTarget) target).invokedDirectly = true;
+                                            return null;
+                                        }
+                                    })
+                    };
+                } else if (className.equals(WrongTypeTarget.class.getName())) {
+                    return new IndexedMethod[] {
+                            new IndexedMethod("subscribe", new Class<?>[] { String.class },
+                                    Subscribe.class, "WRONG_TYPE", false, false, false, false,
+                                    null, new MethodInvoker() {
+                                        @Override
+                                        public Object invoke(Object target, Object[] args) {
+                                            // Same cast as in generated invoker
+                                            ((WrongTypeTarget) target).subscribe((String) args[0]);
+                                            return null;
+                                        }
+                                    })
+                    };
+                } else if (className.equals(IndexedParent.class.getName())) {
+                    return new IndexedMethod[0];
+                } else {
+                    return null;
+                }
+            }
+        });
+    }
+
+    @Test
+    public void indexedMethodsAreUsed() {
+        List<EventMethod> methods = EventMethodsHelper.getMethodsForTarget(IndexedTarget.class);
+        assertEquals(1, methods.size());
+
+        EventMethod method = methods.get(0);
+        assertEquals("indexed", method.javaMethod.getName());
+        assertEquals(EventMethod.Type.SUBSCRIBE, method.type);
+        assertEquals("INDEXED", method.eventKey);
+        assertTrue(method.isBackground);
+        assertTrue(method.isSingleThread);
+        assertTrue(method.hasReturnType);
+        assertNotNull(method.cache);
+    }
+
+    @Test
+    public void notIndexedClassesAreScanned() {
+        List<EventMethod> methods = EventMethodsHelper.getMethodsForTarget(new NotIndexedTarget());
+        assertEquals(1, methods.size());
+        assertEquals("result", methods.get(0).javaMethod.getName());
+    }
+
+    @Test
+    public void invokerIsUsed() {
+        InvokerTarget target = new InvokerTarget();
+        runResultTask(target);
+        assertTrue(target.invokedDirectly);
+    }
+
+    @Test(expected = EventsException.class)
+    public void reflectionFallbackCanBeDisabled() {
+        InvokerFactory factory = EventsParams.getInvokerFactory();
+        EventsParams.setInvokerFactory(null); // Only reflection is available
+        EventsParams.setReflectionFallbackEnabled(false);
+        try {
+            runResultTask(new ReflectionTarget());
+        } finally {
+            EventsParams.setReflectionFallbackEnabled(true);
+            EventsParams.setInvokerFactory(factory);
+        }
+    }
+
+    @Test(expected = EventsException.class)
+    public void invokerArgumentsAreChecked() {
+        EventTarget target = new EventTarget(new WrongTypeTarget());
+        EventMethod method = target.methods.get(0);
+
+        // Type mismatch should be reported as invocation error, not as subscriber's failure
+        Event event = Events.create(method.eventKey).param(1).post();
+        Task.create(new Dispatcher(), target, method, event).run();
+    }
+
+    private static void runResultTask(Object targetObj) {
+        EventTarget target = new EventTarget(targetObj);
+        EventMethod method = target.methods.get(0);
+        assertEquals(EventMethod.Type.RESULT, method.type);
+
+        Event event = Events.create(method.eventKey).post();
+        EventResult result = EventResult.create().result("RESULT").build();
+        Task.create(new Dispatcher(), target, method, event, result).run();
+    }
+
+
+    @SuppressWarnings("unused")
+    private static class IndexedParent {
+        // Should be ignored, since parent class is indexed with no methods
+        @Subscribe("IGNORED")
+        private static void ignored() {}
+    }
+
+    @SuppressWarnings("unused")
+    private static class IndexedTarget extends IndexedParent {
+        private static Object indexed(Event event) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private static class NotIndexedTarget {
+        @Result("NOT_INDEXED")
+        private void result(String result) {}
+    }
+
+    @SuppressWarnings("unused")
+    private static class ReflectionTarget {
+        @Result("REFLECTION")
+        private void result(String result) {}
+    }
+
+    private static class WrongTypeTarget {
+        @SuppressWarnings("unused")
+        void subscribe(String value) {}
+    }
+
+    private static class InvokerTarget {
+        boolean invokedDirectly;
+
+        @SuppressWarnings("unused")
+        void result(String result) {}
+    }
+
+}
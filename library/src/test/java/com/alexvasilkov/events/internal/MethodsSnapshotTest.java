@@ -0,0 +1,132 @@
+package com.alexvasilkov.events.internal;
+
+import com.alexvasilkov.events.Event;
+import com.alexvasilkov.events.Events.Background;
+import com.alexvasilkov.events.Events.Cache;
+import com.alexvasilkov.events.Events.Result;
+import com.alexvasilkov.events.Events.Subscribe;
+import com.alexvasilkov.events.cache.MemoryCache;
+import com.alexvasilkov.events.index.IndexedMethod;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MethodsSnapshotTest {
+
+    private File file;
+
+    @Before
+    public void setup() throws IOException {
+        file = File.createTempFile("events-snapshot", "");
+        assertTrue(file.delete());
+        EventMethodsHelper.clearCache();
+    }
+
+    @After
+    public void cleanup() {
+        EventsParams.setSnapshot(null);
+        EventMethodsHelper.clearCache();
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+    }
+
+    @Test
+    public void collectedMethodsAreStored() {
+        saveSnapshot("1");
+
+        MethodsSnapshot snapshot = MethodsSnapshot.load(file, "1");
+        IndexedMethod[] statics = snapshot.getMethods(SnapshotTarget.class, true);
+        assertNotNull(statics);
+        assertEquals(1, statics.length);
+
+        IndexedMethod subscribe = statics[0];
+        assertEquals("subscribe", subscribe.name);
+        assertArrayEquals(new Class<?>[] { Event.class, int.class, long[].class },
+                subscribe.params);
+        assertEquals(Subscribe.class, subscribe.type);
+        assertEquals("SNAPSHOT", subscribe.eventKey);
+        assertTrue(subscribe.isStatic);
+        assertTrue(subscribe.hasReturnType);
+        assertTrue(subscribe.isBackground);
+        assertTrue(subscribe.isSingleThread);
+        assertEquals(Background.IO, subscribe.pool);
+        assertTrue(subscribe.isCollapsing);
+        assertEquals(MemoryCache.class, subscribe.cache);
+
+        IndexedMethod[] instance = snapshot.getMethods(SnapshotTarget.class, false);
+        assertNotNull(instance);
+        assertEquals(1, instance.length);
+        assertEquals(Result.class, instance[0].type);
+        assertFalse(instance[0].isStatic);
+    }
+
+    @Test
+    public void storedMethodsAreRegistered() {
+        saveSnapshot("1");
+
+        EventsParams.setSnapshot(MethodsSnapshot.load(file, "1"));
+        EventMethodsHelper.clearCache();
+
+        List<EventMethod> methods = EventMethodsHelper.getMethodsForTarget(SnapshotTarget.class);
+        assertEquals(1, methods.size());
+        EventMethod method = methods.get(0);
+        assertEquals(EventMethod.Type.SUBSCRIBE, method.type);
+        assertEquals("SNAPSHOT", method.eventKey);
+        assertTrue(method.isSingleThread);
+        assertEquals(Background.IO, method.pool);
+        assertTrue(method.cache instanceof MemoryCache);
+    }
+
+    @Test
+    public void otherVersionIsIgnored() {
+        saveSnapshot("1");
+
+        MethodsSnapshot snapshot = MethodsSnapshot.load(file, "2");
+        assertNull(snapshot.getMethods(SnapshotTarget.class, true));
+    }
+
+    @Test
+    public void corruptedFileIsIgnored() throws IOException {
+        assertTrue(file.createNewFile());
+
+        MethodsSnapshot snapshot = MethodsSnapshot.load(file, "1");
+        assertNull(snapshot.getMethods(SnapshotTarget.class, true));
+    }
+
+
+    private void saveSnapshot(String version) {
+        MethodsSnapshot snapshot = MethodsSnapshot.load(file, version);
+        EventsParams.setSnapshot(snapshot);
+        EventMethodsHelper.preload(SnapshotTarget.class);
+        snapshot.save();
+        EventsParams.setSnapshot(null);
+        assertTrue(file.exists());
+    }
+
+
+    @SuppressWarnings("unused")
+    private static class SnapshotTarget {
+        @Cache(MemoryCache.class)
+        @Background(singleThread = true, pool = Background.IO)
+        @Subscribe(value = "SNAPSHOT", collapse = true)
+        private static Object subscribe(Event event, int value, long[] values) {
+            return null;
+        }
+
+        @Result("SNAPSHOT")
+        private void result() {}
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.alexvasilkov.events.internal;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TasksPoolTest {
+
+    private final TasksPool pool = new TasksPool();
+
+    @After
+    public void tearDown() {
+        EventsParams.setPoolingEnabled(false);
+    }
+
+    @Test
+    public void tasksAreNotReusedByDefault() {
+        Task task = pool.obtain();
+        pool.recycle(task);
+        assertNotSame(task, pool.obtain());
+    }
+
+    @Test
+    public void recycledTasksAreReused() {
+        EventsParams.setPoolingEnabled(true);
+        Task task = pool.obtain();
+        task.target = new EventTarget(new Object());
+        pool.recycle(task);
+
+        assertSame(task, pool.obtain());
+        // References should be released once task is recycled
+        assertNull(task.target);
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.alexvasilkov.events.internal;
+
+import com.alexvasilkov.events.Priority;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TasksQueueTest {
+
+    private final TasksQueue queue = new TasksQueue();
+
+    @Test
+    public void higherLanesAreDrainedFirst() {
+        Task low = add(Priority.LOW);
+        Task normal1 = add(Priority.NORMAL);
+        Task high = add(Priority.HIGH);
+        Task normal2 = add(Priority.NORMAL);
+        assertEquals(4, queue.size());
+
+        assertSame(high, queue.poll());
+        assertSame(normal1, queue.poll());
+        assertSame(normal2, queue.poll());
+        assertSame(low, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void addedFirstTaskIsPolledFirst() {
+        Task normal = add(Priority.NORMAL);
+        Task first = new Task();
+        queue.addFirst(first, Priority.NORMAL);
+
+        assertSame(first, queue.poll());
+        assertSame(normal, queue.poll());
+    }
+
+    @Test
+    public void lowerLanesAreNotStarved() {
+        Task low = add(Priority.LOW);
+        for (int i = 0; i < 2 * TasksQueue.FAIR_POLL_INTERVAL; i++) {
+            add(Priority.HIGH);
+        }
+
+        for (int i = 1; i < TasksQueue.FAIR_POLL_INTERVAL; i++) {
+            assertEquals(Priority.HIGH, queue.poll().priority);
+        }
+        assertSame(low, queue.poll());
+    }
+
+    @Test
+    public void starvedTasksAreTakenInOrder() {
+        Task normal = add(Priority.NORMAL);
+        for (int i = 0; i < TasksQueue.FAIR_POLL_INTERVAL; i++) {
+            add(Priority.HIGH);
+        }
+        // Lower priority task which was added later should not be polled before older one
+        Task low = add(Priority.LOW);
+
+        for (int i = 1; i < TasksQueue.FAIR_POLL_INTERVAL; i++) {
+            queue.poll();
+        }
+        assertSame(normal, queue.poll());
+        queue.poll();
+        assertSame(low, queue.poll());
+    }
+
+
+    private Task add(Priority priority) {
+        Task task = new Task();
+        queue.add(task, priority);
+        return task;
+    }
+
+}
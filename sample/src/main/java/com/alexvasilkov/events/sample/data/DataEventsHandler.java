@@ -13,21 +13,21 @@ import java.util.List;
 
 public class DataEventsHandler {
 
-    @Background
+    @Background(pool = Background.IO)
     @Subscribe(DataEvents.LOAD_REPOSITORIES)
     private static List<Repository> loadRepositories(boolean force) throws IOException {
         return RepositoryLoader.list(force);
     }
 
-    @Background
+    @Background(pool = Background.IO)
     @Subscribe(DataEvents.LOAD_REPOSITORY)
     private static Repository loadRepository(long id) throws IOException {
         return RepositoryLoader.getById(id);
     }
 
     @Cache(MemoryCache.class)
-    @Background
-    @Subscribe(DataEvents.LOAD_README)
+    @Background(pool = Background.IO)
+    @Subscribe(value = DataEvents.LOAD_README, collapse = true)
     private static String loadReadme(Repository repository) throws IOException {
         return ReadmeLoader.getReadmeHtml(repository);
     }
@@ -31,6 +31,7 @@ public class PerformanceTestActivity extends BaseActivity {
     private static final String LOG_SEPARATOR = "---------------------------";
     private static final int ITERATIONS = 1000;
     private static final int ITERATIONS_SMALL = 100;
+    private static final int[] UNRELATED_TARGETS = new int[] { 0, 100, 1000 };
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -130,10 +131,36 @@ public class PerformanceTestActivity extends BaseActivity {
             }
         }, results);
 
+        testUnrelatedTargets(results);
+
         Events.unregister(TestPost.class);
         EventsParams.setMaxTimeInUiThread(10L);
     }
 
+    private void testUnrelatedTargets(List<String> results) {
+        // Posting cost should not depend on number of targets which are not interested in event
+        for (int count : UNRELATED_TARGETS) {
+            List<TestUnrelated> targets = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                TestUnrelated target = new TestUnrelated();
+                Events.register(target);
+                targets.add(target);
+            }
+
+            runTest("Posting simple event, " + count + " unrelated targets", ITERATIONS,
+                    new Test() {
+                        @Override
+                        public Object run(int step) {
+                            return Events.post("TEST_SIMPLE");
+                        }
+                    }, results);
+
+            for (TestUnrelated target : targets) {
+                Events.unregister(target);
+            }
+        }
+    }
+
     private void testOther(List<String> results) {
         runTest("Object creation", ITERATIONS, new Test() {
             @Override
@@ -212,6 +239,20 @@ public class PerformanceTestActivity extends BaseActivity {
         private static void result(Object result) {}
     }
 
+    private static class TestUnrelated {
+        @Subscribe("TEST_UNRELATED")
+        private void subscribe() {}
+
+        @Status("TEST_UNRELATED")
+        private void status(EventStatus status) {}
+
+        @Result("TEST_UNRELATED")
+        private void result() {}
+
+        @Failure("TEST_UNRELATED")
+        private void failure() {}
+    }
+
     private static class TestReg {
         @Subscribe("0")
         private static void subscribe0(Event event) {}
@@ -57,7 +57,7 @@ public class RepoDetailsActivity extends BaseActivity {
     @Override
     protected void onPostCreate(@Nullable Bundle savedInstanceState) {
         super.onPostCreate(savedInstanceState);
-        Events.create(DataEvents.LOAD_REPOSITORY).param(repositoryId).tag(repositoryId).post();
+        Events.create(DataEvents.LOAD_REPOSITORY).paramLong(repositoryId).tag(repositoryId).post();
     }
 
 